@@ -0,0 +1,53 @@
+package com.todo.app.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TodoItemJsonBenchmark {
+
+    private JsonMapper jsonMapper;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private TodoItem item;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        reader = jsonMapper.readerFor(TodoItem.class);
+        writer = jsonMapper.writerFor(TodoItem.class);
+        item = new TodoItem("Buy groceries", "Milk, eggs &amp; bread for the week", LocalDate.of(2026, 3, 14));
+        json = writer.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return writer.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public TodoItem deserialize() {
+        return reader.readValue(json);
+    }
+
+    // Goes through the mapper's per-call type lookup, as code that does not cache a reader or writer would.
+    @Benchmark
+    public TodoItem roundTripWithoutCachedReader() {
+        return jsonMapper.readValue(jsonMapper.writeValueAsBytes(item), TodoItem.class);
+    }
+}
@@ -0,0 +1,8 @@
+package com.todo.app.repository;
+
+import org.openjdk.jmh.annotations.Threads;
+
+// Same operations as TodoRepositoryBenchmark, run from several threads at once to expose lock and index contention.
+@Threads(8)
+public class ConcurrentTodoRepositoryBenchmark extends TodoRepositoryBenchmark {
+}
@@ -0,0 +1,70 @@
+package com.todo.app.repository;
+
+import com.todo.app.model.TodoItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+public class TodoRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private TodoRepository repository;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        repository = new TodoRepository();
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = repository.save(newItem(i)).getId();
+        }
+    }
+
+    @Benchmark
+    public Optional<TodoItem> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public TodoItem update() {
+        return repository.update(randomId(), newItem(ThreadLocalRandom.current().nextInt(size)));
+    }
+
+    // Save and delete are paired so the store stays at the parameterised size for the whole run.
+    @Benchmark
+    public boolean saveAndDelete() {
+        return repository.delete(repository.save(newItem(size)).getId());
+    }
+
+    @Benchmark
+    public List<TodoItem> findAll() {
+        return repository.findAll();
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static TodoItem newItem(int i) {
+        return new TodoItem("Benchmark todo " + i, "Repository benchmark description " + i, LocalDate.now().plusDays(i % 365));
+    }
+}
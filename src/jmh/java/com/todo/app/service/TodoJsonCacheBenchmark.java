@@ -0,0 +1,74 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full list response: Jackson over the whole list versus stitching per-item cached bytes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoJsonCacheBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ObjectWriter listWriter;
+    private TodoJsonCache cache;
+    private List<TodoItem> items;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        listWriter = jsonMapper.writerFor(jsonMapper.getTypeFactory().constructCollectionType(List.class, TodoItem.class));
+        cache = new TodoJsonCache(jsonMapper, DataSize.ofMegabytes(256));
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TodoItem item = new TodoItem("Todo " + i, "Milk, eggs &amp; bread for the week", LocalDate.of(2026, 3, 14).plusDays(i % 365));
+            item.setId("id-" + i);
+            item.setVersion(1);
+            items.add(item);
+            cache.put(item);
+        }
+        out = new ByteArrayOutputStream(size * 160);
+    }
+
+    @Benchmark
+    public int serializeList() {
+        out.reset();
+        listWriter.writeValue(out, items);
+        return out.size();
+    }
+
+    @Benchmark
+    public int concatenateCached() throws IOException {
+        out.reset();
+        out.write('[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(cache.get(items.get(i)));
+        }
+        out.write(']');
+        return out.size();
+    }
+}
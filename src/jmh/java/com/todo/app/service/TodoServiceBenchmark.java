@@ -0,0 +1,52 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.TodoRepository;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.owasp.encoder.Encode;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TodoServiceBenchmark {
+
+    @Param({"plain", "markup"})
+    String text;
+
+    private TodoService todoService;
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        todoService = new TodoService(new TodoRepository(), Validation.buildDefaultValidatorFactory().getValidator());
+        input = text.equals("plain")
+                ? "Buy groceries for the week and drop off the dry cleaning on the way back"
+                : "<b>Buy</b> groceries & \"snacks\" for the <script>alert('week')</script> party";
+    }
+
+    @Benchmark
+    public String encodeForHtml() {
+        return Encode.forHtml(input);
+    }
+
+    // Validation, sanitization and insert for a single-item batch; the delete keeps the store size constant.
+    @Benchmark
+    public boolean createAndDelete() {
+        List<TodoBatchResult> results = todoService.createTodoItems(List.of(new TodoItem(input, input, LocalDate.now())));
+        return todoService.deleteTodoItem(results.get(0).id());
+    }
+}
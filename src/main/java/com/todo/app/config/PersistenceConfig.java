@@ -0,0 +1,38 @@
+package com.todo.app.config;
+
+import com.todo.app.persistence.SnapshotStore;
+import com.todo.app.persistence.TodoArchive;
+import com.todo.app.persistence.WriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.wal.enabled", havingValue = "true")
+    public WriteAheadLog writeAheadLog(@Value("${todo.wal.path}") String path,
+                                       @Value("${todo.wal.flush-interval}") Duration flushInterval,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        Thread.Builder flusherThreads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        return new WriteAheadLog(Path.of(path), flushInterval, flusherThreads);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = {"todo.wal.enabled", "todo.snapshot.enabled"}, havingValue = "true")
+    public SnapshotStore snapshotStore(@Value("${todo.snapshot.path}") String path) throws IOException {
+        return new SnapshotStore(Path.of(path));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.retention.enabled", havingValue = "true")
+    public TodoArchive todoArchive(@Value("${todo.archive.path}") String path) throws IOException {
+        return new TodoArchive(Path.of(path));
+    }
+}
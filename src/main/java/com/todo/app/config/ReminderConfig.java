@@ -0,0 +1,41 @@
+package com.todo.app.config;
+
+import com.todo.app.events.TodoEventPublisher;
+import com.todo.app.reminders.EventFeedReminderSink;
+import com.todo.app.reminders.LogReminderSink;
+import com.todo.app.reminders.ReminderSink;
+import com.todo.app.reminders.WebhookReminderSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.time.Duration;
+
+// Any other ReminderSink bean can be plugged in with a todo.reminders.sink value none of these match. Only the
+// reminder scheduler uses a sink, so none is created unless it is.
+@Configuration
+@ConditionalOnProperty(name = "todo.reminders.enabled", havingValue = "true")
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "log", matchIfMissing = true)
+    public ReminderSink logReminderSink() {
+        return new LogReminderSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "webhook")
+    public ReminderSink webhookReminderSink(JsonMapper jsonMapper, @Value("${todo.reminders.webhook.url}") URI url,
+                                            @Value("${todo.reminders.webhook.timeout:PT5S}") Duration timeout) {
+        return new WebhookReminderSink(jsonMapper, url, timeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "events")
+    public ReminderSink eventFeedReminderSink(TodoEventPublisher eventPublisher) {
+        return new EventFeedReminderSink(eventPublisher);
+    }
+}
@@ -0,0 +1,35 @@
+package com.todo.app.config;
+
+import com.todo.app.repository.HeapTodoStore;
+import com.todo.app.repository.OffHeapTodoStore;
+import com.todo.app.repository.ShardedTodoStore;
+import com.todo.app.repository.TodoStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.function.Supplier;
+
+@Configuration
+public class StoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.store.engine", havingValue = "heap", matchIfMissing = true)
+    public TodoStore heapTodoStore(@Value("${todo.store.shards:1}") int shards) {
+        return sharded(shards, HeapTodoStore::new);
+    }
+
+    // Every shard allocates chunks of its own, so the chunk size applies per shard.
+    @Bean
+    @ConditionalOnProperty(name = "todo.store.engine", havingValue = "off-heap")
+    public TodoStore offHeapTodoStore(@Value("${todo.store.chunk-size:64MB}") DataSize chunkSize,
+                                      @Value("${todo.store.shards:1}") int shards) {
+        return sharded(shards, () -> new OffHeapTodoStore(Math.toIntExact(chunkSize.toBytes())));
+    }
+
+    private static TodoStore sharded(int shards, Supplier<TodoStore> engine) {
+        return shards > 1 ? new ShardedTodoStore(shards, engine) : engine.get();
+    }
+}
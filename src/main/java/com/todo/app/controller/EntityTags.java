@@ -0,0 +1,24 @@
+package com.todo.app.controller;
+
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String etag(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    // Only a single strong tag holding a version can match; weak tags, lists and anything else yield -1.
+    static long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.todo.app.controller;
+
+final class ListParams {
+
+    private ListParams() {
+    }
+
+    // Owner listings are neither paged, sorted, filtered nor date-ranged yet; answering with either side alone
+    // would quietly drop part of the query.
+    static void rejectWithOwner(String owner, String parameters, Object... values) {
+        rejectCombined("owner", owner, parameters, values);
+    }
+
+    static void rejectCombined(String parameter, Object value, String parameters, Object... values) {
+        if (value == null) {
+            return;
+        }
+        for (Object other : values) {
+            if (other != null) {
+                throw new IllegalArgumentException(parameter + " cannot be combined with " + parameters);
+            }
+        }
+    }
+
+    // Only both bounds together select the due-date range; one alone would otherwise fall through to the full list.
+    static void rejectHalfRange(String dueFrom, String dueTo) {
+        if (dueFrom != null || dueTo != null) {
+            throw new IllegalArgumentException("dueFrom and dueTo must be given together");
+        }
+    }
+}
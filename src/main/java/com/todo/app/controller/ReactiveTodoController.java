@@ -0,0 +1,178 @@
+package com.todo.app.controller;
+
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoPage;
+import com.todo.app.service.ReactiveTodoService;
+import jakarta.validation.Valid;
+import org.owasp.encoder.Encode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.todo.app.controller.EntityTags.etag;
+import static com.todo.app.controller.EntityTags.parseVersion;
+import static com.todo.app.controller.ListParams.rejectCombined;
+import static com.todo.app.controller.ListParams.rejectHalfRange;
+import static com.todo.app.controller.ListParams.rejectWithOwner;
+
+// The same API as TodoController for spring.main.web-application-type=reactive. Server-sent events, NDJSON
+// import and the archive are only served by the servlet stack.
+@RestController
+@RequestMapping("/api/todos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTodoController {
+    private final ReactiveTodoService todoService;
+
+    public ReactiveTodoController(ReactiveTodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    // The entity tag makes WebFlux answer a matching If-None-Match with 304 before the items are ever pulled.
+    @GetMapping
+    public Mono<ResponseEntity<Flux<TodoItem>>> getAllTodoItems(@RequestParam(required = false) String sort,
+                                                                @RequestParam(required = false) String filter,
+                                                                @RequestParam(required = false) String owner,
+                                                                @RequestParam(required = false) String dueFrom,
+                                                                @RequestParam(required = false) String dueTo) {
+        rejectHalfRange(dueFrom, dueTo);
+        rejectWithOwner(owner, "sort or filter", sort, filter);
+        if (owner != null) {
+            return todoService.getVersionTag()
+                    .map(tag -> ResponseEntity.ok().eTag(etag(tag)).body(todoService.getTodoItemsByOwner(owner)));
+        }
+        if (sort == null && filter == null) {
+            return todoService.getVersionTag()
+                    .map(tag -> ResponseEntity.ok().eTag(etag(tag)).body(todoService.streamTodoItems()));
+        }
+        // Collected before the response starts, so a bad sort or filter still gets its 400.
+        return todoService.getVersionTag()
+                .flatMap(tag -> todoService.getTodoItems(sort, filter).collectList()
+                        .map(items -> ResponseEntity.ok().eTag(etag(tag)).body(Flux.fromIterable(items))));
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<TodoPage> getTodoItemPage(@RequestParam int limit, @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) String sort, @RequestParam(required = false) String filter,
+                                          @RequestParam(required = false) String owner, @RequestParam(required = false) String dueFrom,
+                                          @RequestParam(required = false) String dueTo) {
+        rejectWithOwner(owner, "limit", limit);
+        rejectCombined("limit", limit, "dueFrom or dueTo", dueFrom, dueTo);
+        return todoService.getTodoItemPage(cursor, limit, sort, filter);
+    }
+
+    @GetMapping(params = {"dueFrom", "dueTo"})
+    public Flux<TodoItem> getTodoItemsDueBetween(@RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate dueFrom,
+                                                 @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate dueTo,
+                                                 @RequestParam(required = false) String owner,
+                                                 @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) String sort, @RequestParam(required = false) String filter) {
+        rejectWithOwner(owner, "dueFrom and dueTo", dueFrom, dueTo);
+        rejectCombined("dueFrom and dueTo", dueFrom, "limit, cursor, sort or filter", limit, cursor, sort, filter);
+        return todoService.getTodoItemsDueBetween(dueFrom, dueTo);
+    }
+
+    @GetMapping("/overdue")
+    public Flux<TodoItem> getOverdueTodoItems() {
+        return todoService.getOverdueTodoItems();
+    }
+
+    @GetMapping("/due-today")
+    public Flux<TodoItem> getTodoItemsDueToday() {
+        return todoService.getTodoItemsDueToday();
+    }
+
+    @GetMapping("/search")
+    public Flux<TodoItem> searchTodoItems(@RequestParam("q") String query, @RequestParam(defaultValue = "20") int limit) {
+        return todoService.searchTodoItems(query, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoItem> exportTodoItems() {
+        return todoService.streamTodoItems();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TodoItem>> getTodoItemById(@PathVariable String id) {
+        return todoService.getTodoItemById(id)
+                .map(item -> ResponseEntity.ok().eTag(etag(Long.toString(item.getVersion()))).body(item))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TodoItem>> createTodoItem(@Valid @RequestBody TodoItem todoItem) {
+        todoItem.setTitle(Encode.forHtml(todoItem.getTitle()));
+        todoItem.setDescription(Encode.forHtml(todoItem.getDescription()));
+        return todoService.createTodo(todoItem)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PostMapping("/batch")
+    public Mono<List<TodoBatchResult>> createTodoItems(@RequestBody List<TodoItem> todoItems) {
+        return todoService.createTodoItems(todoItems);
+    }
+
+    @PutMapping("/batch")
+    public Mono<List<TodoBatchResult>> updateTodoItems(@RequestBody List<TodoItem> todoItems) {
+        return todoService.updateTodoItems(todoItems);
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<List<TodoBatchResult>> deleteTodoItems(@RequestBody List<String> ids) {
+        return todoService.deleteTodoItems(ids);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodoItem(@PathVariable String id) {
+        return todoService.deleteTodoItem(id)
+                .map(deleted -> deleted ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TodoItem>> updateTodoItem(@PathVariable String id, @Valid @RequestBody TodoItem updatedItem,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Mono<TodoItem> updated;
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            updated = todoService.updateTodoItem(id, updatedItem);
+        } else {
+            long expectedVersion = parseVersion(ifMatch);
+            if (expectedVersion < 0) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+            updated = todoService.updateTodoItem(id, updatedItem, expectedVersion);
+        }
+        return updated
+                .map(item -> ResponseEntity.ok().eTag(etag(Long.toString(item.getVersion()))).body(item))
+                // No current representation matches any If-Match, "*" included (RFC 9110, 13.1.1).
+                .defaultIfEmpty(ifMatch != null ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build() : ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/count")
+    public Mono<Integer> countTodoItems() {
+        return todoService.count();
+    }
+
+    @GetMapping(value = "/count", params = "owner")
+    public Mono<Integer> countTodoItemsByOwner(@RequestParam String owner) {
+        return todoService.countByOwner(owner);
+    }
+
+    @DeleteMapping(value = "/clear", params = "owner")
+    public Mono<ResponseEntity<Void>> clearTodoItemsByOwner(@RequestParam String owner) {
+        return todoService.clearOwner(owner).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @DeleteMapping("/clear")
+    public Mono<ResponseEntity<Void>> clearAllTodoItems() {
+        return todoService.clearAll().then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.todo.app.controller;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.service.TodoArchiveService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/todos/archive")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.retention.enabled", havingValue = "true")
+public class TodoArchiveController {
+    private final TodoArchiveService todoArchiveService;
+
+    public TodoArchiveController(TodoArchiveService todoArchiveService) {
+        this.todoArchiveService = todoArchiveService;
+    }
+
+    // Archived todos are looked up by the completion dates they were filed under.
+    @GetMapping
+    public List<TodoItem> getArchivedTodoItems(@RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate from,
+                                               @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate to,
+                                               @RequestParam(required = false) String owner) throws IOException {
+        return todoArchiveService.findArchived(from, to, owner);
+    }
+}
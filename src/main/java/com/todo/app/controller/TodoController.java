@@ -1,36 +1,159 @@
 package com.todo.app.controller;
 
+import com.todo.app.events.TodoEventFeed;
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoImportResult;
 import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoPage;
+import com.todo.app.service.TodoImportService;
+import com.todo.app.service.TodoJsonCache;
 import com.todo.app.service.TodoService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.owasp.encoder.Encode;
 
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.todo.app.controller.EntityTags.etag;
+import static com.todo.app.controller.EntityTags.parseVersion;
+import static com.todo.app.controller.ListParams.rejectCombined;
+import static com.todo.app.controller.ListParams.rejectHalfRange;
+import static com.todo.app.controller.ListParams.rejectWithOwner;
 
 
 @RestController
 @RequestMapping("/api/todos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TodoController {
     private final TodoService todoService;
+    private final TodoImportService todoImportService;
+    private final TodoEventFeed todoEventFeed;
+    private final TodoJsonCache todoJsonCache;
 
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoImportService todoImportService, TodoEventFeed todoEventFeed,
+                          TodoJsonCache todoJsonCache) {
         this.todoService = todoService;
+        this.todoImportService = todoImportService;
+        this.todoEventFeed = todoEventFeed;
+        this.todoJsonCache = todoJsonCache;
     }
 
+    // The tag is read before the items, so a write that lands in between yields a tag that is already stale
+    // rather than one that hides the write from the next poll. The array is stitched together from each item's
+    // cached JSON instead of running the whole list through Jackson. An empty owner lists the todos that have none.
     @GetMapping
-    public List<TodoItem> getAllTodoItems() {
-        return todoService.getAllTodoItems();
+    public void getAllTodoItems(@RequestParam(required = false) String sort, @RequestParam(required = false) String filter,
+                                @RequestParam(required = false) String owner, @RequestParam(required = false) String dueFrom,
+                                @RequestParam(required = false) String dueTo,
+                                WebRequest request, HttpServletResponse response) throws IOException {
+        rejectHalfRange(dueFrom, dueTo);
+        rejectWithOwner(owner, "sort or filter", sort, filter);
+        if (request.checkNotModified(etag(todoService.getVersionTag()))) {
+            return;
+        }
+        List<TodoItem> items;
+        if (owner != null) {
+            items = todoService.getTodoItemsByOwner(owner);
+        } else if (sort == null && filter == null) {
+            items = todoService.getAllTodoItems();
+        } else {
+            items = todoService.getTodoItems(sort, filter);
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        out.write('[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(todoJsonCache.get(items.get(i)));
+        }
+        out.write(']');
+    }
+
+    @GetMapping(params = "limit")
+    public TodoPage getTodoItemPage(@RequestParam int limit, @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) String sort, @RequestParam(required = false) String filter,
+                                    @RequestParam(required = false) String owner, @RequestParam(required = false) String dueFrom,
+                                    @RequestParam(required = false) String dueTo) {
+        rejectWithOwner(owner, "limit", limit);
+        rejectCombined("limit", limit, "dueFrom or dueTo", dueFrom, dueTo);
+        return todoService.getTodoItemPage(cursor, limit, sort, filter);
+    }
+
+    @GetMapping(params = {"dueFrom", "dueTo"})
+    public List<TodoItem> getTodoItemsDueBetween(@RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate dueFrom,
+                                                 @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy") LocalDate dueTo,
+                                                 @RequestParam(required = false) String owner,
+                                                 @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) String sort, @RequestParam(required = false) String filter) {
+        rejectWithOwner(owner, "dueFrom and dueTo", dueFrom, dueTo);
+        rejectCombined("dueFrom and dueTo", dueFrom, "limit, cursor, sort or filter", limit, cursor, sort, filter);
+        return todoService.getTodoItemsDueBetween(dueFrom, dueTo);
+    }
+
+    @GetMapping("/overdue")
+    public List<TodoItem> getOverdueTodoItems() {
+        return todoService.getOverdueTodoItems();
+    }
+
+    @GetMapping("/due-today")
+    public List<TodoItem> getTodoItemsDueToday() {
+        return todoService.getTodoItemsDueToday();
+    }
+
+    @GetMapping("/search")
+    public List<TodoItem> searchTodoItems(@RequestParam("q") String query, @RequestParam(defaultValue = "20") int limit) {
+        return todoService.searchTodoItems(query, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodoItems() {
+        StreamingResponseBody body = out -> {
+            try (Stream<TodoItem> items = todoService.streamTodoItems()) {
+                Iterator<TodoItem> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    out.write(todoJsonCache.get(iterator.next()));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTodoEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return todoEventFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TodoItem> getTodoItemById(@PathVariable String id) {
-        return todoService.getTodoItemById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<TodoItem> getTodoItemById(@PathVariable String id, WebRequest request) {
+        Optional<TodoItem> item = todoService.getTodoItemById(id);
+        if (item.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag(Long.toString(item.get().getVersion())))) {
+            return null;
+        }
+        return ResponseEntity.ok(item.get());
     }
 
     @PostMapping
@@ -41,6 +164,26 @@ public class TodoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/batch")
+    public List<TodoBatchResult> createTodoItems(@RequestBody List<TodoItem> todoItems) {
+        return todoService.createTodoItems(todoItems);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TodoImportResult importTodoItems(InputStream body) throws IOException {
+        return todoImportService.importTodoItems(body);
+    }
+
+    @PutMapping("/batch")
+    public List<TodoBatchResult> updateTodoItems(@RequestBody List<TodoItem> todoItems) {
+        return todoService.updateTodoItems(todoItems);
+    }
+
+    @DeleteMapping("/batch")
+    public List<TodoBatchResult> deleteTodoItems(@RequestBody List<String> ids) {
+        return todoService.deleteTodoItems(ids);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTodoItem(@PathVariable String id) {
         if (todoService.deleteTodoItem(id)) {
@@ -50,10 +193,23 @@ public class TodoController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TodoItem> updateTodoItem(@PathVariable String id, @Valid @RequestBody TodoItem updatedItem) {
-        TodoItem updated = todoService.updateTodoItem(id, updatedItem);
+    public ResponseEntity<TodoItem> updateTodoItem(@PathVariable String id, @Valid @RequestBody TodoItem updatedItem,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TodoItem updated;
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            updated = todoService.updateTodoItem(id, updatedItem);
+        } else {
+            long expectedVersion = parseVersion(ifMatch);
+            if (expectedVersion < 0) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            updated = todoService.updateTodoItem(id, updatedItem, expectedVersion);
+        }
         if (updated != null) {
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(etag(Long.toString(updated.getVersion()))).body(updated);
+        } else if (ifMatch != null) {
+            // No current representation matches any If-Match, "*" included (RFC 9110, 13.1.1).
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -65,10 +221,20 @@ public class TodoController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping(value = "/count", params = "owner")
+    public ResponseEntity<Integer> countTodoItemsByOwner(@RequestParam String owner) {
+        return ResponseEntity.ok(todoService.countByOwner(owner));
+    }
+
+    @DeleteMapping(value = "/clear", params = "owner")
+    public ResponseEntity<Void> clearTodoItemsByOwner(@RequestParam String owner) {
+        todoService.clearOwner(owner);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/clear")
     public ResponseEntity<Void> clearAllTodoItems() {
         todoService.clearAll();
         return ResponseEntity.noContent().build();
     }
-
 }
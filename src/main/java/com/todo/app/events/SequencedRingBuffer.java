@@ -0,0 +1,46 @@
+package com.todo.app.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+// Multi-producer ring without locks: a writer claims the next sequence and stores into its slot, overwriting
+// whatever was there. Each slot remembers its sequence, so a reader can tell a value it has not seen yet from one
+// that has already been overwritten. Sequences start at 1.
+final class SequencedRingBuffer<T> {
+    private record Slot<T>(long sequence, T value) {
+    }
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+
+    SequencedRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    long publish(LongFunction<T> value) {
+        long sequence = head.incrementAndGet();
+        slots.set((int) sequence & mask, new Slot<>(sequence, value.apply(sequence)));
+        return sequence;
+    }
+
+    // Null when the sequence is not published yet or has already been overwritten; overrun() tells them apart.
+    T get(long sequence) {
+        Slot<T> slot = slots.get((int) sequence & mask);
+        return slot != null && slot.sequence() == sequence ? slot.value() : null;
+    }
+
+    boolean overrun(long sequence) {
+        return sequence <= head.get() - slots.length();
+    }
+
+    // The last claimed sequence; a writer may still be storing it.
+    long head() {
+        return head.get();
+    }
+}
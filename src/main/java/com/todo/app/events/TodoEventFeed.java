@@ -0,0 +1,176 @@
+package com.todo.app.events;
+
+import com.todo.app.model.TodoEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+// Writers serialize an event once and drop it into the ring; they never wait on a subscriber. A single dispatcher
+// thread wakes each subscriber, and each subscriber drains the ring from its own cursor on a virtual thread, so a
+// slow connection only blocks itself. A subscriber that falls a full ring behind is disconnected and can resume
+// with Last-Event-ID while its position is still buffered.
+@Component
+public class TodoEventFeed implements TodoEventPublisher, AutoCloseable {
+    static final String RESET = "reset";
+
+    private record Entry(String id, String name, String data) {
+    }
+
+    private final SequencedRingBuffer<Entry> ring;
+    private final JsonMapper jsonMapper;
+    private final long heartbeatNanos;
+    // Sequences restart with the process, so event ids carry an epoch and ids from an earlier run never resume.
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("todo-event-sender-", 0).factory());
+    private final AtomicBoolean published = new AtomicBoolean();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public TodoEventFeed(JsonMapper jsonMapper, @Value("${todo.events.buffer-size:4096}") int bufferSize,
+                         @Value("${todo.events.heartbeat:PT15S}") Duration heartbeat) {
+        this.ring = new SequencedRingBuffer<>(bufferSize);
+        this.jsonMapper = jsonMapper;
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.dispatcher = Thread.ofPlatform().daemon(true).name("todo-event-dispatcher").start(this::dispatch);
+    }
+
+    @Override
+    public void publish(TodoEvent event) {
+        String data = jsonMapper.writeValueAsString(event);
+        String name = event.type().name().toLowerCase(Locale.ROOT);
+        ring.publish(sequence -> new Entry(epoch + "-" + sequence, name, data));
+        if (!published.getAndSet(true)) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        long resumeAfter = parseSequence(lastEventId);
+        long head = ring.head();
+        boolean reset = lastEventId != null && (resumeAfter < 0 || resumeAfter > head || ring.overrun(resumeAfter + 1));
+        Subscriber subscriber = new Subscriber(emitter, lastEventId == null || reset ? head + 1 : resumeAfter + 1);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        if (reset) {
+            // The client missed events we no longer hold; it has to reload the list before following the feed.
+            try {
+                emitter.send(SseEmitter.event().name(RESET).data("{}", MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+        }
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private void dispatch() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            LockSupport.parkNanos(this, Math.max(0, nextHeartbeat - System.nanoTime()));
+            boolean heartbeat = System.nanoTime() - nextHeartbeat >= 0;
+            if (heartbeat) {
+                nextHeartbeat = System.nanoTime() + heartbeatNanos;
+            }
+            if (published.getAndSet(false) || heartbeat) {
+                for (Subscriber subscriber : subscribers) {
+                    if (heartbeat) {
+                        subscriber.heartbeatDue = true;
+                    }
+                    subscriber.schedule();
+                }
+            }
+        }
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Only touched by the drain that holds the scheduled flag.
+        private long next;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+        }
+
+        private void schedule() {
+            if (running && scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry entry;
+                while ((entry = ring.get(next)) != null) {
+                    emitter.send(SseEmitter.event().id(entry.id()).name(entry.name()).data(entry.data(), MediaType.APPLICATION_JSON));
+                    next++;
+                }
+                if (ring.overrun(next)) {
+                    subscribers.remove(this);
+                    emitter.complete();
+                    return;
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // An event published while this drain was finishing found the flag still set and did not reschedule.
+            if (ring.get(next) != null || ring.overrun(next)) {
+                schedule();
+            }
+        }
+    }
+}
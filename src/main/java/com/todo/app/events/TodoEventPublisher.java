@@ -0,0 +1,11 @@
+package com.todo.app.events;
+
+import com.todo.app.model.TodoEvent;
+
+@FunctionalInterface
+public interface TodoEventPublisher {
+    TodoEventPublisher NONE = event -> {
+    };
+
+    void publish(TodoEvent event);
+}
@@ -0,0 +1,10 @@
+package com.todo.app.exeptions;
+
+public class QuotaExceededException extends RuntimeException {
+
+    public QuotaExceededException(String owner, int quota) {
+        super(owner == null
+                ? "Todos without an owner have reached the limit of " + quota
+                : "Owner " + owner + " has reached the limit of " + quota + " todos");
+    }
+}
@@ -0,0 +1,14 @@
+package com.todo.app.exeptions;
+
+public class VersionConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public VersionConflictException(String id, long expectedVersion, long currentVersion) {
+        super("Todo " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,28 @@
+package com.todo.app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(RepositoryOperationEvent.NAME)
+@Label("Repository Operation")
+@Description("A call into TodoRepository")
+@Category({"Todo", "Repository"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryOperationEvent extends Event {
+    public static final String NAME = "com.todo.RepositoryOperation";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Todo Id")
+    public String todoId;
+
+    @Label("Store Size")
+    public int storeSize;
+}
@@ -0,0 +1,31 @@
+package com.todo.app.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name(RequestEvent.NAME)
+@Label("HTTP Request")
+@Description("An HTTP request handled by the servlet stack, up to the point the response is committed or handed to async processing")
+@Category({"Todo", "Web"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class RequestEvent extends Event {
+    public static final String NAME = "com.todo.Request";
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    public String route;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,81 @@
+package com.todo.app.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Summarises the todo events in a recording, e.g. one taken with -XX:StartFlightRecording:settings=<todo.jfc>,filename=todo.jfr:
+//   java -cp <app classpath> com.todo.app.jfr.SlowOperationAnalyzer todo.jfr [threshold-ms]
+public final class SlowOperationAnalyzer {
+
+    public record Summary(String operation, int count, Duration p50, Duration p99, Duration max, String slowest) {
+    }
+
+    private record Sample(Duration duration, String subject) {
+    }
+
+    private SlowOperationAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: SlowOperationAnalyzer <recording.jfr> [threshold-ms]");
+            System.exit(2);
+        }
+        Duration threshold = Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 0);
+        List<Summary> summaries = summarize(Path.of(args[0]), threshold);
+        System.out.printf("%-45s %8s %10s %10s %10s  %s%n", "operation", "count", "p50 ms", "p99 ms", "max ms", "slowest");
+        for (Summary summary : summaries) {
+            System.out.printf("%-45s %8d %10.2f %10.2f %10.2f  %s%n", summary.operation(), summary.count(),
+                    millis(summary.p50()), millis(summary.p99()), millis(summary.max()), summary.slowest());
+        }
+    }
+
+    // Groups repository events by operation and request events by method and route, slowest group first.
+    public static List<Summary> summarize(Path recording, Duration threshold) throws IOException {
+        Map<String, List<Sample>> samples = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (event.getDuration().compareTo(threshold) < 0) {
+                    continue;
+                }
+                String name = event.getEventType().getName();
+                if (name.equals(RepositoryOperationEvent.NAME)) {
+                    samples.computeIfAbsent("repository " + event.getString("operation"), key -> new ArrayList<>())
+                            .add(new Sample(event.getDuration(), event.getString("todoId")));
+                } else if (name.equals(RequestEvent.NAME)) {
+                    String route = event.getString("route");
+                    samples.computeIfAbsent(event.getString("method") + " " + (route == null ? event.getString("uri") : route), key -> new ArrayList<>())
+                            .add(new Sample(event.getDuration(), event.getString("uri")));
+                }
+            }
+        }
+
+        List<Summary> summaries = new ArrayList<>();
+        samples.forEach((operation, list) -> {
+            list.sort(Comparator.comparing(Sample::duration));
+            Sample slowest = list.get(list.size() - 1);
+            summaries.add(new Summary(operation, list.size(), percentile(list, 0.50), percentile(list, 0.99),
+                    slowest.duration(), slowest.subject()));
+        });
+        summaries.sort(Comparator.comparing(Summary::max).reversed());
+        return summaries;
+    }
+
+    private static Duration percentile(List<Sample> sorted, double quantile) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1)).duration();
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.app.model;
+
+public record TodoBatchResult(int index, int status, String id, String error) {
+
+    public static TodoBatchResult success(int index, int status, String id) {
+        return new TodoBatchResult(index, status, id, null);
+    }
+
+    public static TodoBatchResult failure(int index, int status, String id, String error) {
+        return new TodoBatchResult(index, status, id, error);
+    }
+}
@@ -0,0 +1,6 @@
+package com.todo.app.model;
+
+public record TodoEvent(Type type, String id, TodoItem item) {
+
+    public enum Type { CREATED, UPDATED, DELETED, ARCHIVED, CLEARED, REMINDER }
+}
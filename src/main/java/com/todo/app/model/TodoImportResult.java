@@ -0,0 +1,9 @@
+package com.todo.app.model;
+
+import java.util.List;
+
+public record TodoImportResult(long lines, long imported, long failed, List<LineError> errors) {
+
+    public record LineError(long line, String error) {
+    }
+}
@@ -1,16 +1,21 @@
 package com.todo.app.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
-import java.util.UUID;
 
 public class TodoItem {
 
     private String id;
 
+    // Whose list the todo is on; todos without one are listed, counted and capped as one shared owner.
+    @Size(max = 100, message = "Owner must be at most 100 characters")
+    private String owner;
+
     @NotBlank(message = "Title is mandatory")
     private String title;
 
@@ -21,11 +26,12 @@ public class TodoItem {
     @JsonFormat(pattern = "dd.MM.yyyy")
     private LocalDate completionDate;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
     public TodoItem() {
-        this.id = UUID.randomUUID().toString();
     }
     public TodoItem(String title, String description, LocalDate completionDate) {
-        this.id = UUID.randomUUID().toString();
         this.title = title;
         this.description = description;
         this.completionDate = completionDate;
@@ -39,6 +45,14 @@ public class TodoItem {
         this.id = id;
     }
 
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -62,4 +76,12 @@ public class TodoItem {
     public void setCompletionDate(LocalDate completionDate) {
         this.completionDate = completionDate;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
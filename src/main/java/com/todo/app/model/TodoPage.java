@@ -0,0 +1,6 @@
+package com.todo.app.model;
+
+import java.util.List;
+
+public record TodoPage(List<TodoItem> items, String nextCursor) {
+}
@@ -0,0 +1,46 @@
+package com.todo.app.model;
+
+import java.util.Locale;
+
+// A listing order, written as "field" or "field,asc|desc". Ties, and todos without the field, fall back to id order.
+public record TodoSort(Field field, boolean descending) {
+    public static final TodoSort CREATED = new TodoSort(Field.CREATED, false);
+
+    public enum Field {
+        CREATED("created"),
+        TITLE("title"),
+        COMPLETION_DATE("completionDate");
+
+        private final String parameter;
+
+        Field(String parameter) {
+            this.parameter = parameter;
+        }
+    }
+
+    public static TodoSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CREATED;
+        }
+        String[] parts = value.split(",", -1);
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        if (parts.length > 2 || !direction.equals("asc") && !direction.equals("desc")) {
+            throw new IllegalArgumentException("Sort direction must be asc or desc");
+        }
+        for (Field field : Field.values()) {
+            if (field.parameter.equals(parts[0].trim())) {
+                return new TodoSort(field, direction.equals("desc"));
+            }
+        }
+        throw new IllegalArgumentException("Sort field must be one of created, title, completionDate");
+    }
+
+    // Where the item sits in this order, as a paging cursor. The id leads because it never contains a space.
+    public String keyOf(TodoItem item) {
+        return switch (field) {
+            case CREATED -> item.getId();
+            case TITLE -> item.getId() + " " + (item.getTitle() == null ? "" : item.getTitle());
+            case COMPLETION_DATE -> item.getId() + " " + (item.getCompletionDate() == null ? "" : item.getCompletionDate());
+        };
+    }
+}
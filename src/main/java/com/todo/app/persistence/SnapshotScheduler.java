@@ -0,0 +1,33 @@
+package com.todo.app.persistence;
+
+import com.todo.app.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = {"todo.wal.enabled", "todo.snapshot.enabled"}, havingValue = "true")
+public class SnapshotScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotScheduler.class);
+
+    private final TodoRepository todoRepository;
+
+    public SnapshotScheduler(TodoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+    }
+
+    @Scheduled(initialDelayString = "${todo.snapshot.interval}", fixedDelayString = "${todo.snapshot.interval}")
+    public void snapshot() {
+        long start = System.nanoTime();
+        try {
+            long count = todoRepository.writeSnapshot();
+            logger.info("Wrote snapshot of {} todos in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public class SnapshotStore {
+    private static final int MAGIC = 0x54444f53;
+    private static final int FORMAT = 2;
+    // Format 1 records predate the item version; the codec reads them as version 1.
+    private static final int OLDEST_FORMAT = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int END_OF_RECORDS = -1;
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final Path path;
+
+    public SnapshotStore(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+    }
+
+    public long write(long coveredSegment, Iterator<TodoItem> items) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(coveredSegment);
+            ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+            DataOutputStream recordOut = new DataOutputStream(record);
+            while (items.hasNext()) {
+                record.reset();
+                TodoRecordCodec.writeItem(recordOut, items.next());
+                out.writeInt(record.size());
+                record.writeTo(out);
+                count++;
+            }
+            out.writeInt(END_OF_RECORDS);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    // Returns the last write-ahead log segment the snapshot covers, or 0 when there is no snapshot yet.
+    public long load(Consumer<TodoItem> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long base = 0;
+            MappedByteBuffer window = map(channel, base, size);
+            if (size < HEADER_SIZE || window.getInt() != MAGIC) {
+                throw new IOException("Not a todo snapshot: " + path);
+            }
+            int format = window.getInt();
+            if (format < OLDEST_FORMAT || format > FORMAT) {
+                throw new IOException("Unsupported todo snapshot format " + format + ": " + path);
+            }
+            long coveredSegment = window.getLong();
+            while (true) {
+                if (window.remaining() < Integer.BYTES) {
+                    base += window.position();
+                    window = map(channel, base, size);
+                }
+                int length = window.getInt();
+                if (length == END_OF_RECORDS) {
+                    return coveredSegment;
+                }
+                if (window.remaining() < length) {
+                    base += window.position();
+                    window = map(channel, base, size);
+                }
+                int next = window.position() + length;
+                consumer.accept(TodoRecordCodec.readItem(window.slice(window.position(), length)));
+                window.position(next);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long base, long size) throws IOException {
+        if (base >= size) {
+            throw new IOException("Truncated todo snapshot");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(WINDOW_SIZE, size - base));
+    }
+}
@@ -0,0 +1,184 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Todos moved out of memory, in one file per completion date. Every append adds a frame to the day's file:
+//   [int length][gzip member of [int length][record] ...]
+// so nothing already written is rewritten or recompressed. A negative record length marks a retraction of the copy
+// at that record's id and version. Reads are by date range, which is the only way in.
+public class TodoArchive {
+    private static final String SUFFIX = ".archive";
+
+    private final Path directory;
+
+    public TodoArchive(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+    }
+
+    // Durable once this returns. A crash part way leaves a cut-off frame at the end of a day file; reads stop
+    // before it, the next append to that day writes over it, and the todos, still live, are archived again.
+    public synchronized void append(List<TodoItem> items) throws IOException {
+        write(items, false);
+    }
+
+    // Takes back copies that append() wrote but that stayed live because they changed before they could be
+    // removed; find() no longer returns a copy at the same version. A later copy at a higher version still counts.
+    public synchronized void retract(List<TodoItem> items) throws IOException {
+        write(items, true);
+    }
+
+    private void write(List<TodoItem> items, boolean retraction) throws IOException {
+        Map<LocalDate, List<TodoItem>> byDay = new TreeMap<>();
+        for (TodoItem item : items) {
+            byDay.computeIfAbsent(Objects.requireNonNull(item.getCompletionDate(), "Only dated todos are archived"),
+                    day -> new ArrayList<>()).add(item);
+        }
+        for (Map.Entry<LocalDate, List<TodoItem>> day : byDay.entrySet()) {
+            byte[] member = compress(day.getValue(), retraction);
+            ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + member.length).putInt(member.length).put(member).flip();
+            try (FileChannel channel = FileChannel.open(fileOf(day.getKey()), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long end = completeLength(channel);
+                channel.truncate(end);
+                while (frame.hasRemaining()) {
+                    channel.write(frame, end + frame.position());
+                }
+                channel.force(true);
+            }
+        }
+    }
+
+    // A todo archived more than once, after a crash or because it changed and came due again, is returned once,
+    // at its highest version, unless that copy was retracted.
+    public List<TodoItem> find(LocalDate from, LocalDate to, String owner) throws IOException {
+        Map<String, TodoItem> found = new LinkedHashMap<>();
+        Set<Retraction> retracted = new HashSet<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Path file = fileOf(day);
+            if (Files.exists(file)) {
+                read(file, (item, retraction) -> {
+                    if (retraction) {
+                        retracted.add(new Retraction(item.getId(), item.getVersion()));
+                    } else if (owner == null || owner.equals(item.getOwner())) {
+                        found.merge(item.getId(), item, (kept, next) -> next.getVersion() > kept.getVersion() ? next : kept);
+                    }
+                });
+            }
+        }
+        List<TodoItem> items = new ArrayList<>(found.size());
+        for (TodoItem item : found.values()) {
+            if (!retracted.contains(new Retraction(item.getId(), item.getVersion()))) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static byte[] compress(List<TodoItem> items, boolean retraction) throws IOException {
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(member, 1 << 16))) {
+            for (TodoItem item : items) {
+                record.reset();
+                TodoRecordCodec.writeItem(recordOut, item);
+                out.writeInt(retraction ? -record.size() : record.size());
+                record.writeTo(out);
+            }
+        }
+        return member.toByteArray();
+    }
+
+    private static void read(Path file, BiConsumer<TodoItem, Boolean> consumer) throws IOException {
+        long size = Files.size(file);
+        try (DataInputStream frames = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            long position = 0;
+            byte[] member;
+            while ((member = nextFrame(frames, size - position)) != null) {
+                position += Integer.BYTES + member.length;
+                ByteBuffer records;
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(member))) {
+                    records = ByteBuffer.wrap(in.readAllBytes());
+                }
+                while (records.remaining() >= Integer.BYTES) {
+                    int length = records.getInt();
+                    boolean retraction = length < 0;
+                    length = Math.abs(length);
+                    if (length < 0 || length > records.remaining()) {
+                        break;
+                    }
+                    consumer.accept(TodoRecordCodec.readItem(records.slice(records.position(), length)), retraction);
+                    records.position(records.position() + length);
+                }
+            }
+        }
+    }
+
+    // Null at the end of the input, including a frame that was cut off or whose length runs past the end.
+    private static byte[] nextFrame(DataInputStream in, long remaining) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length < 0 || length > remaining - Integer.BYTES) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // One small read per earlier append to the file; nothing is decompressed.
+    private static long completeLength(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        while (size - position >= Integer.BYTES) {
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.read(header, position + header.position());
+            }
+            int length = header.getInt(0);
+            long next = position + Integer.BYTES + length;
+            if (length < 0 || next > size) {
+                break;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    private Path fileOf(LocalDate day) {
+        return directory.resolve(day + SUFFIX);
+    }
+
+    private record Retraction(String id, long version) {
+    }
+}
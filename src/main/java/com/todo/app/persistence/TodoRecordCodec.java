@@ -0,0 +1,86 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+public final class TodoRecordCodec {
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private TodoRecordCodec() {
+    }
+
+    public static void writeItem(DataOutput out, TodoItem item) throws IOException {
+        writeString(out, item.getId());
+        writeString(out, item.getTitle());
+        writeString(out, item.getDescription());
+        out.writeLong(item.getCompletionDate() == null ? NO_DATE : item.getCompletionDate().toEpochDay());
+        out.writeLong(item.getVersion());
+        writeString(out, item.getOwner());
+    }
+
+    // The version and then the owner were appended to a record that was already being persisted, so older records
+    // end at the completion date (version 1) or at the version. Both readers expect input bounded to a single
+    // record to tell these apart.
+    public static TodoItem readItem(DataInputStream in) throws IOException {
+        String id = readString(in);
+        TodoItem item = new TodoItem(readString(in), readString(in), null);
+        long epochDay = in.readLong();
+        item.setId(id);
+        item.setCompletionDate(epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay));
+        item.setVersion(in.available() >= Long.BYTES ? in.readLong() : 1);
+        if (in.available() > 0) {
+            item.setOwner(readString(in));
+        }
+        return item;
+    }
+
+    public static TodoItem readItem(ByteBuffer in) {
+        String id = readString(in);
+        TodoItem item = new TodoItem(readString(in), readString(in), null);
+        long epochDay = in.getLong();
+        item.setId(id);
+        item.setCompletionDate(epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay));
+        item.setVersion(in.remaining() >= Long.BYTES ? in.getLong() : 1);
+        if (in.hasRemaining()) {
+            item.setOwner(readString(in));
+        }
+        return item;
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
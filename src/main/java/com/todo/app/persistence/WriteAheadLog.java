@@ -0,0 +1,359 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+public class WriteAheadLog implements AutoCloseable {
+    public enum Operation { SAVE, UPDATE, DELETE, CLEAR }
+
+    public record Entry(Operation operation, String id, TodoItem item) {
+    }
+
+    private record PendingWrite(byte[] record, long segment, CompletableFuture<Void> done) {
+    }
+
+    // Lets tests put a channel that fails under the log.
+    interface ChannelOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private static final int HEADER_SIZE = 8;
+
+    private final Path path;
+    private final ChannelOpener opener;
+    private FileChannel channel;
+    private long lastSegment;
+    private final long flushIntervalNanos;
+    private final LinkedBlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final Thread flusher;
+    private volatile boolean running = true;
+    // Set by the first write or sync that fails. The writes it carried are already applied in memory, so the log
+    // takes nothing more until a restart brings memory back in line with it; in particular no rotation, so no
+    // snapshot can make those writes permanent.
+    private volatile IOException failure;
+
+    public WriteAheadLog(Path path, Duration flushInterval) throws IOException {
+        this(path, flushInterval, Thread.ofPlatform().daemon(true));
+    }
+
+    public WriteAheadLog(Path path, Duration flushInterval, Thread.Builder flusherThreads) throws IOException {
+        this(path, flushInterval, flusherThreads,
+                file -> FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    WriteAheadLog(Path path, Duration flushInterval, Thread.Builder flusherThreads, ChannelOpener opener) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.opener = opener;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.channel = opener.open(path);
+        this.channel.position(channel.size());
+        this.lastSegment = archivedSegments().stream().mapToLong(Long::longValue).max().orElse(0);
+        this.flusher = flusherThreads.name("todo-wal-flusher").start(this::runFlusher);
+    }
+
+    public void replay(Consumer<Entry> consumer) throws IOException {
+        replay(0, consumer);
+    }
+
+    // The snapshot covering afterSegment may have outlived every segment file, so segment numbers carry on from
+    // it: a rotation must never reuse a number the snapshot already claims, or replay would skip that segment.
+    public void replay(long afterSegment, Consumer<Entry> consumer) throws IOException {
+        synchronized (this) {
+            lastSegment = Math.max(lastSegment, afterSegment);
+        }
+        // Segments are only archived after a successful force, so they have no torn tail: a record that does not
+        // read back is corruption, and replaying the later files over the gap would apply writes out of order.
+        for (long segment : archivedSegments()) {
+            if (segment > afterSegment) {
+                Path file = segmentPath(segment);
+                long end = replay(file, consumer);
+                if (end != Files.size(file)) {
+                    throw new IOException("Corrupt write-ahead log record at " + end + " in " + file);
+                }
+            }
+        }
+        long position = replay(path, consumer);
+        channel.truncate(position);
+        channel.position(position);
+    }
+
+    // Queued under the same lock close() takes, so nothing is queued after the flusher has drained its last batch.
+    public CompletableFuture<Void> append(Operation operation, String id, TodoItem item) {
+        PendingWrite write = new PendingWrite(encode(operation, id, item), 0, new CompletableFuture<>());
+        synchronized (this) {
+            checkWritable();
+            pending.add(write);
+        }
+        return write.done();
+    }
+
+    // Closes the active file as the next archived segment; records appended afterwards go to a fresh file.
+    public CompletableFuture<Long> rotate() {
+        long segment;
+        PendingWrite marker;
+        synchronized (this) {
+            checkWritable();
+            segment = ++lastSegment;
+            marker = new PendingWrite(null, segment, new CompletableFuture<>());
+            pending.add(marker);
+        }
+        return marker.done().thenApply(ignored -> segment);
+    }
+
+    public void deleteSegmentsThrough(long segment) throws IOException {
+        for (long archived : archivedSegments()) {
+            if (archived <= segment) {
+                Files.deleteIfExists(segmentPath(archived));
+            }
+        }
+    }
+
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            running = false;
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Only left over when the flusher was interrupted; their callers must not wait forever.
+        List<PendingWrite> abandoned = new ArrayList<>();
+        pending.drainTo(abandoned);
+        IllegalStateException closed = new IllegalStateException("Write-ahead log is closed");
+        abandoned.forEach(write -> write.done().completeExceptionally(closed));
+        channel.close();
+    }
+
+    private void checkWritable() {
+        if (!running) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed; restart to recover", failure);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingWrite first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    PendingWrite next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                pending.drainTo(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        int from = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).record() == null) {
+                sync(batch.subList(from, i));
+                archive(batch.get(i));
+                from = i + 1;
+            }
+        }
+        sync(batch.subList(from, batch.size()));
+    }
+
+    private void sync(List<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            fail(writes, failure);
+            return;
+        }
+        ByteBuffer[] buffers = new ByteBuffer[writes.size()];
+        long remaining = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(writes.get(i).record());
+            remaining += buffers[i].remaining();
+        }
+        long start = -1;
+        try {
+            start = channel.position();
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+            channel.force(false);
+            syncCount.incrementAndGet();
+            writes.forEach(write -> write.done().complete(null));
+        } catch (IOException e) {
+            // Cut the batch off again, so no part of a write its caller saw fail is replayed after a restart.
+            try {
+                if (start >= 0) {
+                    channel.truncate(start);
+                    channel.position(start);
+                    channel.force(false);
+                }
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            failure = e;
+            fail(writes, e);
+        }
+    }
+
+    private static void fail(List<PendingWrite> writes, IOException cause) {
+        UncheckedIOException failed = new UncheckedIOException(cause);
+        writes.forEach(write -> write.done().completeExceptionally(failed));
+    }
+
+    private void archive(PendingWrite marker) {
+        if (failure != null) {
+            marker.done().completeExceptionally(new UncheckedIOException(failure));
+            return;
+        }
+        try {
+            channel.close();
+            Files.move(path, segmentPath(marker.segment()), StandardCopyOption.ATOMIC_MOVE);
+            channel = opener.open(path);
+            marker.done().complete(null);
+        } catch (IOException e) {
+            // The active file may be closed or gone; nothing further can be appended safely.
+            failure = e;
+            marker.done().completeExceptionally(new UncheckedIOException(e));
+        }
+    }
+
+    private long replay(Path file, Consumer<Entry> consumer) throws IOException {
+        long position = 0;
+        long size = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                // A length running past the end of the file is a torn header, not something to allocate.
+                if (length <= 0 || length > size - position - HEADER_SIZE) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (checksum(payload) != checksum) {
+                    break;
+                }
+                consumer.accept(decode(file, position, payload));
+                position += HEADER_SIZE + length;
+            }
+        } catch (EOFException e) {
+            // A torn record at the tail is an append that never got acknowledged.
+        }
+        return position;
+    }
+
+    private Path segmentPath(long segment) {
+        return path.resolveSibling(path.getFileName() + "." + segment);
+    }
+
+    private List<Long> archivedSegments() throws IOException {
+        String prefix = path.getFileName() + ".";
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path.toAbsolutePath().getParent(), prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    segments.add(Long.parseLong(suffix));
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static byte[] encode(Operation operation, String id, TodoItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(0);
+            out.writeByte(operation.ordinal());
+            TodoRecordCodec.writeString(out, id);
+            if (item != null) {
+                TodoRecordCodec.writeItem(out, item);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer header = ByteBuffer.wrap(record, 0, HEADER_SIZE);
+        header.putInt(record.length - HEADER_SIZE);
+        header.putInt(checksum(record, HEADER_SIZE, record.length - HEADER_SIZE));
+        return record;
+    }
+
+    // The checksum matched, so the whole record was written: a payload that still does not decode must stop the
+    // replay rather than pass for a torn tail, which would truncate every record after it.
+    private static Entry decode(Path file, long position, byte[] payload) throws IOException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            Operation operation = Operation.values()[in.readUnsignedByte()];
+            String id = TodoRecordCodec.readString(in);
+            TodoItem item = operation == Operation.SAVE || operation == Operation.UPDATE ? TodoRecordCodec.readItem(in) : null;
+            return new Entry(operation, id, item);
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Unreadable write-ahead log record at " + position + " in " + file, e);
+        }
+    }
+
+    private static int checksum(byte[] bytes) {
+        return checksum(bytes, 0, bytes.length);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
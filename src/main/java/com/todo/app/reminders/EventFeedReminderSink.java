@@ -0,0 +1,23 @@
+package com.todo.app.reminders;
+
+import com.todo.app.events.TodoEventPublisher;
+import com.todo.app.model.TodoEvent;
+import com.todo.app.model.TodoItem;
+
+import java.util.List;
+
+// Reminders go out on the server-sent event stream as "reminder" events, next to the change events.
+public class EventFeedReminderSink implements ReminderSink {
+    private final TodoEventPublisher eventPublisher;
+
+    public EventFeedReminderSink(TodoEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void deliver(List<TodoItem> due) {
+        for (TodoItem item : due) {
+            eventPublisher.publish(new TodoEvent(TodoEvent.Type.REMINDER, item.getId(), item));
+        }
+    }
+}
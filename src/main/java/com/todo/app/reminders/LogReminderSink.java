@@ -0,0 +1,18 @@
+package com.todo.app.reminders;
+
+import com.todo.app.model.TodoItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public class LogReminderSink implements ReminderSink {
+    private static final Logger logger = LoggerFactory.getLogger(LogReminderSink.class);
+
+    @Override
+    public void deliver(List<TodoItem> due) {
+        for (TodoItem item : due) {
+            logger.info("Todo {} \"{}\" is due on {}", item.getId(), item.getTitle(), item.getCompletionDate());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.todo.app.reminders;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+// One timer per dated todo, fired lead-time before the start of its completion date. Writers only queue a command;
+// a single ticker thread owns the wheel, applies the commands, advances it once per tick and hands what came due
+// to the sink in batches, with at most max-in-flight batches out at once. A reminder is checked against the
+// repository just before delivery, so a todo deleted or moved since it was scheduled is skipped. Todos already in
+// their reminder window are reminded about again after a restart.
+@Component
+@ConditionalOnProperty(name = "todo.reminders.enabled", havingValue = "true")
+public class ReminderScheduler implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private record Reminder(String id, long version, LocalDate dueDate) {
+    }
+
+    private final TodoRepository todoRepository;
+    private final ReminderSink sink;
+    private final Duration leadTime;
+    private final long tickMillis;
+    private final int batchSize;
+    private final Semaphore inFlight;
+    private final Clock clock;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    // Only touched by the ticker, and by the constructor before it starts.
+    private final Map<String, TimingWheel.Timer<Reminder>> timers = new HashMap<>();
+    private final TimingWheel<Reminder> wheel;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("todo-reminder-sender-", 0).factory());
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    @Autowired
+    public ReminderScheduler(TodoRepository todoRepository, ReminderSink sink,
+                             @Value("${todo.reminders.lead-time:PT24H}") Duration leadTime,
+                             @Value("${todo.reminders.tick:PT1S}") Duration tick,
+                             @Value("${todo.reminders.batch-size:100}") int batchSize,
+                             @Value("${todo.reminders.max-in-flight:4}") int maxInFlight) {
+        this(todoRepository, sink, leadTime, tick, batchSize, maxInFlight, Clock.systemDefaultZone());
+    }
+
+    ReminderScheduler(TodoRepository todoRepository, ReminderSink sink, Duration leadTime, Duration tick,
+                      int batchSize, int maxInFlight, Clock clock) {
+        if (leadTime.isNegative() || tick.toMillis() < 1 || batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Lead time must not be negative; tick, batch size and max in flight must be positive");
+        }
+        this.todoRepository = todoRepository;
+        this.sink = sink;
+        this.leadTime = leadTime;
+        this.tickMillis = tick.toMillis();
+        this.batchSize = batchSize;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(clock.millis() / tickMillis);
+        // The one full pass, for todos recovered from disk; from here on only writes move timers.
+        try (Stream<TodoItem> items = todoRepository.stream()) {
+            items.forEach(this::place);
+        }
+        this.ticker = Thread.ofPlatform().daemon(true).name("todo-reminder-ticker").start(this::run);
+    }
+
+    public void schedule(TodoItem item) {
+        commands.add(() -> place(item));
+    }
+
+    public void cancel(String id) {
+        commands.add(() -> unschedule(id));
+    }
+
+    // A todo created while the clear ran may have queued its reminder ahead of this, so only reminders whose todo
+    // is gone are dropped.
+    public void cleared() {
+        commands.add(() -> {
+            for (String id : new ArrayList<>(timers.keySet())) {
+                if (todoRepository.findById(id).isEmpty()) {
+                    unschedule(id);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        ticker.interrupt();
+        senders.shutdown();
+    }
+
+    private void place(TodoItem item) {
+        TimingWheel.Timer<Reminder> existing = timers.get(item.getId());
+        if (existing != null) {
+            // Writes to one todo can report back out of order; the higher version wins.
+            if (existing.payload().version() > item.getVersion()) {
+                return;
+            }
+            unschedule(item.getId());
+        }
+        LocalDate dueDate = item.getCompletionDate();
+        if (dueDate == null || dueDate.isBefore(LocalDate.now(clock))) {
+            return;
+        }
+        long remindAt = dueDate.atStartOfDay(clock.getZone()).minus(leadTime).toInstant().toEpochMilli();
+        timers.put(item.getId(), wheel.add(Math.ceilDiv(remindAt, tickMillis), new Reminder(item.getId(), item.getVersion(), dueDate)));
+    }
+
+    private void unschedule(String id) {
+        TimingWheel.Timer<Reminder> timer = timers.remove(id);
+        if (timer != null) {
+            wheel.remove(timer);
+        }
+    }
+
+    private void run() {
+        List<Reminder> due = new ArrayList<>();
+        while (running) {
+            try {
+                Runnable command;
+                while ((command = commands.poll()) != null) {
+                    command.run();
+                }
+                long now = clock.millis();
+                wheel.advance(now / tickMillis, reminder -> {
+                    timers.remove(reminder.id());
+                    due.add(reminder);
+                });
+                for (int from = 0; from < due.size(); from += batchSize) {
+                    dispatch(List.copyOf(due.subList(from, Math.min(from + batchSize, due.size()))));
+                }
+                due.clear();
+                LockSupport.parkNanos(this, (tickMillis - now % tickMillis) * 1_000_000);
+            } catch (InterruptedException | RejectedExecutionException e) {
+                return;
+            } catch (RuntimeException e) {
+                due.clear();
+                logger.warn("Reminder tick failed", e);
+            }
+        }
+    }
+
+    // Blocks the ticker while max-in-flight batches are out, so a slow sink holds reminders back in the wheel
+    // instead of piling up deliveries.
+    private void dispatch(List<Reminder> batch) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            senders.execute(() -> {
+                try {
+                    deliver(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void deliver(List<Reminder> batch) {
+        List<TodoItem> items = new ArrayList<>(batch.size());
+        for (Reminder reminder : batch) {
+            todoRepository.findById(reminder.id())
+                    .filter(item -> reminder.dueDate().equals(item.getCompletionDate()))
+                    .ifPresent(items::add);
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            sink.deliver(items);
+        } catch (Exception e) {
+            logger.warn("Could not deliver {} reminders", items.size(), e);
+        }
+    }
+}
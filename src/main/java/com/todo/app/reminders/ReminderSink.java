@@ -0,0 +1,12 @@
+package com.todo.app.reminders;
+
+import com.todo.app.model.TodoItem;
+
+import java.util.List;
+
+// Where due reminders go. Called with one batch at a time, on a thread of its own; a batch that throws is logged
+// and dropped.
+@FunctionalInterface
+public interface ReminderSink {
+    void deliver(List<TodoItem> due) throws Exception;
+}
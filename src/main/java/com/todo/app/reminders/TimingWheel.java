@@ -0,0 +1,157 @@
+package com.todo.app.reminders;
+
+import java.util.function.Consumer;
+
+// A hierarchical timing wheel: LEVELS wheels of SLOTS slots, where a slot of level n spans SLOTS^n ticks. A timer
+// sits in the lowest level whose slot still tells it apart from the current tick, and drops a level each time the
+// wheel reaches its slot, so adding, removing and firing a timer cost the same however many others are waiting.
+// Deadlines past the top level wait in an overflow list. Not thread-safe; ReminderScheduler confines it to one thread.
+final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+
+    static final class Timer<T> {
+        private final long deadline;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timer<T> head;
+
+        private void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.previous = null;
+            timer.next = head;
+            if (head != null) {
+                head.previous = timer;
+            }
+            head = timer;
+        }
+
+        private void remove(Timer<T> timer) {
+            if (timer.previous != null) {
+                timer.previous.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.previous = timer.previous;
+            }
+            timer.bucket = null;
+            timer.previous = null;
+            timer.next = null;
+        }
+
+        private Timer<T> takeAll() {
+            Timer<T> all = head;
+            head = null;
+            return all;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final Bucket<T>[][] levels = new Bucket[LEVELS][SLOTS];
+    private final Bucket<T> overflow = new Bucket<>();
+    private final Bucket<T> expired = new Bucket<>();
+    private long current;
+    private int size;
+
+    TimingWheel(long startTick) {
+        for (Bucket<T>[] level : levels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Bucket<>();
+            }
+        }
+        this.current = startTick;
+    }
+
+    // A deadline at or before the current tick fires on the next advance.
+    Timer<T> add(long deadline, T payload) {
+        Timer<T> timer = new Timer<>(deadline, payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    void remove(Timer<T> timer) {
+        if (timer.bucket != null) {
+            timer.bucket.remove(timer);
+            size--;
+        }
+    }
+
+    // Steps one tick at a time, so a long pause is caught up in order; every step is a few array lookups.
+    void advance(long tick, Consumer<T> fired) {
+        fire(expired, fired);
+        while (current < tick) {
+            current++;
+            if ((current & ((1L << SLOT_BITS * LEVELS) - 1)) == 0) {
+                cascade(overflow);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((current & ((1L << SLOT_BITS * level) - 1)) == 0) {
+                    cascade(levels[level][slot(current, level)]);
+                }
+            }
+            cascade(levels[0][slot(current, 0)]);
+            fire(expired, fired);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        if (timer.deadline <= current) {
+            expired.add(timer);
+            return;
+        }
+        // The highest bit where deadline and current differ picks the level.
+        int level = (63 - Long.numberOfLeadingZeros((timer.deadline ^ current) | (SLOTS - 1))) / SLOT_BITS;
+        if (level >= LEVELS) {
+            overflow.add(timer);
+        } else {
+            levels[level][slot(timer.deadline, level)].add(timer);
+        }
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        Timer<T> timer = bucket.takeAll();
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void fire(Bucket<T> bucket, Consumer<T> fired) {
+        Timer<T> timer = bucket.takeAll();
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.bucket = null;
+            timer.previous = null;
+            timer.next = null;
+            size--;
+            fired.accept(timer.payload);
+            timer = next;
+        }
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >>> SLOT_BITS * level) & (SLOTS - 1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.todo.app.reminders;
+
+import com.todo.app.model.TodoItem;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+// POSTs each batch as a JSON array. Anything but a 2xx fails the batch.
+public class WebhookReminderSink implements ReminderSink {
+    private final HttpClient client;
+    private final JsonMapper jsonMapper;
+    private final URI url;
+    private final Duration timeout;
+
+    public WebhookReminderSink(JsonMapper jsonMapper, URI url, Duration timeout) {
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.jsonMapper = jsonMapper;
+        this.url = url;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void deliver(List<TodoItem> due) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(due)))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status / 100 != 2) {
+            throw new IOException("Reminder webhook " + url + " answered " + status);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.todo.app.repository;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Each id maps to its newest version, stamped with a store-wide commit number. Older versions stay linked behind
+// it, and a delete leaves a tombstone, only while an open snapshot started before the newer version; otherwise
+// they are cut off as the key is written. A snapshot is just the commit number current when it opened.
+public class HeapTodoStore implements TodoStore {
+    private static final int SWEEP_THRESHOLD = 1 << 10;
+    private static final int SWEEP_STEP = 64;
+
+    private static final class Version {
+        private final TodoRecord record;
+        private final long commit;
+        private volatile Version previous;
+
+        private Version(TodoRecord record, long commit, Version previous) {
+            this.record = record;
+            this.commit = commit;
+            this.previous = previous;
+        }
+    }
+
+    private volatile ConcurrentHashMap<String, Version> versions = new ConcurrentHashMap<>();
+    // Writers share the read lock while they commit; a snapshot takes the write lock just long enough to read the
+    // commit counter, so every smaller commit is already in the map.
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+    // Open snapshots by commit number, with how many share it.
+    private final ConcurrentSkipListMap<Long, Integer> snapshots = new ConcurrentSkipListMap<>();
+    // Writes that kept an older version or a tombstone; once no snapshot is open, a large enough count sweeps them.
+    private final AtomicInteger retained = new AtomicInteger();
+    // A sweep in progress. Each writer walks the next few keys, so no single request pays for everyone's garbage.
+    private final AtomicReference<Sweep> sweeping = new AtomicReference<>();
+
+    private record Sweep(ConcurrentHashMap<String, Version> generation, Iterator<String> ids) {
+    }
+
+    @Override
+    public TodoRecord get(String id) {
+        Version head = versions.get(id);
+        return head == null ? null : head.record;
+    }
+
+    @Override
+    public TodoRecord put(String id, TodoRecord record) {
+        AtomicReference<TodoRecord> previous = new AtomicReference<>();
+        commit(id, (key, existing) -> {
+            previous.set(existing);
+            return record;
+        }, false);
+        return previous.get();
+    }
+
+    @Override
+    public TodoRecord compute(String id, BiFunction<String, TodoRecord, TodoRecord> function) {
+        return commit(id, function, false);
+    }
+
+    @Override
+    public TodoRecord computeIfPresent(String id, BiFunction<String, TodoRecord, TodoRecord> function) {
+        return commit(id, function, true);
+    }
+
+    @Override
+    public TodoRecord remove(String id) {
+        AtomicReference<TodoRecord> previous = new AtomicReference<>();
+        commit(id, (key, existing) -> {
+            previous.set(existing);
+            return null;
+        }, true);
+        return previous.get();
+    }
+
+    @Override
+    public void clear() {
+        commitLock.writeLock().lock();
+        try {
+            versions = new ConcurrentHashMap<>();
+            size.set(0);
+            retained.set(0);
+            sweeping.set(null);
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public Stream<TodoRecord> stream() {
+        ConcurrentHashMap<String, Version> generation;
+        long snapshot;
+        commitLock.writeLock().lock();
+        try {
+            generation = versions;
+            snapshot = commits.get();
+            snapshots.merge(snapshot, 1, Integer::sum);
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        SnapshotIterator iterator = new SnapshotIterator(generation.values().iterator(), snapshot);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private TodoRecord commit(String id, BiFunction<String, TodoRecord, TodoRecord> function, boolean onlyIfPresent) {
+        commitLock.readLock().lock();
+        try {
+            Version head = versions.compute(id, (key, current) -> {
+                TodoRecord existing = current == null ? null : current.record;
+                if (existing == null && onlyIfPresent) {
+                    return current;
+                }
+                TodoRecord result = function.apply(key, existing);
+                if (existing == null && result == null) {
+                    return current;
+                }
+                if (existing == null) {
+                    size.incrementAndGet();
+                } else if (result == null) {
+                    size.decrementAndGet();
+                }
+                return retain(new Version(result, commits.incrementAndGet(), current));
+            });
+            sweepStep();
+            return head == null ? null : head.record;
+        } finally {
+            commitLock.readLock().unlock();
+        }
+    }
+
+    // Keeps the newest version each open snapshot can see and nothing older; with no snapshot open, a tombstone
+    // is not kept at all. Runs inside compute(), so the chain it cuts cannot change underneath it.
+    private Version retain(Version head) {
+        Map.Entry<Long, Integer> oldest = snapshots.firstEntry();
+        if (oldest == null) {
+            head.previous = null;
+            return head.record == null ? null : head;
+        }
+        Version visible = head;
+        while (visible != null && visible.commit > oldest.getKey()) {
+            visible = visible.previous;
+        }
+        if (visible != null) {
+            visible.previous = null;
+        }
+        if (head.previous != null || head.record == null) {
+            retained.incrementAndGet();
+        }
+        return head;
+    }
+
+    // Only schedules the sweep; the closing reader is usually a request thread and does none of it.
+    private void release(long snapshot) {
+        snapshots.computeIfPresent(snapshot, (commit, count) -> count == 1 ? null : count - 1);
+        int garbage = retained.get();
+        if (snapshots.isEmpty() && garbage > Math.max(SWEEP_THRESHOLD, size.get() / 4) && retained.compareAndSet(garbage, 0)) {
+            ConcurrentHashMap<String, Version> generation = versions;
+            sweeping.set(new Sweep(generation, generation.keySet().iterator()));
+        }
+    }
+
+    // Called by writers under the read lock, which keeps new snapshots from opening, so retain() drops every older
+    // version and tombstone it reaches. Taking the sweep out of the reference gives one writer the iterator at a time.
+    private void sweepStep() {
+        Sweep sweep = sweeping.get();
+        if (sweep == null || !sweeping.compareAndSet(sweep, null)) {
+            return;
+        }
+        for (int i = 0; i < SWEEP_STEP && sweep.ids().hasNext(); i++) {
+            sweep.generation().computeIfPresent(sweep.ids().next(), (key, head) -> retain(head));
+        }
+        if (sweep.ids().hasNext()) {
+            sweeping.compareAndSet(null, sweep);
+        }
+    }
+
+    // Entries in the version map, tombstones included.
+    int entries() {
+        return versions.size();
+    }
+
+    private static TodoRecord visibleAt(Version head, long snapshot) {
+        Version version = head;
+        while (version != null && version.commit > snapshot) {
+            version = version.previous;
+        }
+        return version == null ? null : version.record;
+    }
+
+    // ConcurrentHashMap's iterator visits every key present throughout exactly once, and keys a snapshot needs
+    // stay present until it is released, so each todo the snapshot sees comes out once, in its snapshot version.
+    private final class SnapshotIterator implements Iterator<TodoRecord> {
+        private final Iterator<Version> heads;
+        private final long snapshot;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private TodoRecord next;
+
+        private SnapshotIterator(Iterator<Version> heads, long snapshot) {
+            this.heads = heads;
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !released.get()) {
+                if (!heads.hasNext()) {
+                    close();
+                    break;
+                }
+                next = visibleAt(heads.next(), snapshot);
+            }
+            return next != null;
+        }
+
+        @Override
+        public TodoRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TodoRecord record = next;
+            next = null;
+            return record;
+        }
+
+        private void close() {
+            if (released.compareAndSet(false, true)) {
+                release(snapshot);
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.todo.app.repository;
+
+@FunctionalInterface
+public interface IdGenerator {
+    String nextId();
+}
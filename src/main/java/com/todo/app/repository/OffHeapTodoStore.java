@@ -0,0 +1,480 @@
+package com.todo.app.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Records live in direct ByteBuffer chunks and are only turned into TodoRecord objects when read. The index is an
+// open-addressing table of two long[] arrays (64-bit id hash, record address), so the heap holds no per-todo
+// objects at all. Record layout:
+//   [int length, negated once dead][long superseded][long version][long epochDay]
+//   [int len][id][int len][owner][int len][title][int len][description]
+// Writes append a new record and mark the old one dead, stamping it with the commit number that superseded it;
+// live records are copied into fresh chunks once dead bytes outweigh live ones. Direct buffers were chosen over
+// java.lang.foreign because the FFM API is still a preview in Java 21.
+public class OffHeapTodoStore implements TodoStore {
+    private static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final long EMPTY = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NULL_LENGTH = -1;
+    private static final int LENGTH_OFFSET = 0;
+    private static final int SUPERSEDED_OFFSET = Integer.BYTES;
+    private static final int VERSION_OFFSET = SUPERSEDED_OFFSET + Long.BYTES;
+    private static final int DATE_OFFSET = VERSION_OFFSET + Long.BYTES;
+    private static final int ID_OFFSET = DATE_OFFSET + Long.BYTES;
+
+    private final int chunkSize;
+    private final ToLongFunction<String> hash;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Replaced, never emptied, by clear() and compaction, so an open snapshot keeps reading the image it started on.
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private int position;
+    private long liveBytes;
+    private long deadBytes;
+    private long commits;
+
+    private long[] hashes;
+    private long[] addresses;
+    private int mask;
+    private volatile int size;
+
+    public OffHeapTodoStore() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public OffHeapTodoStore(int chunkSize) {
+        this(chunkSize, OffHeapTodoStore::hash);
+    }
+
+    OffHeapTodoStore(int chunkSize, ToLongFunction<String> hash) {
+        this.chunkSize = chunkSize;
+        this.hash = hash;
+        resetTable(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public TodoRecord get(String id) {
+        byte[] key = utf8(id);
+        long keyHash = hash.applyAsLong(id);
+        lock.readLock().lock();
+        try {
+            int slot = find(keyHash, key);
+            return slot < 0 ? null : read(addresses[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TodoRecord put(String id, TodoRecord record) {
+        byte[] key = utf8(id);
+        long keyHash = hash.applyAsLong(id);
+        lock.writeLock().lock();
+        try {
+            int slot = find(keyHash, key);
+            TodoRecord previous = slot < 0 ? null : read(addresses[slot]);
+            write(slot, keyHash, key, record);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public TodoRecord compute(String id, BiFunction<String, TodoRecord, TodoRecord> function) {
+        return compute(id, function, false);
+    }
+
+    @Override
+    public TodoRecord computeIfPresent(String id, BiFunction<String, TodoRecord, TodoRecord> function) {
+        return compute(id, function, true);
+    }
+
+    @Override
+    public TodoRecord remove(String id) {
+        byte[] key = utf8(id);
+        long keyHash = hash.applyAsLong(id);
+        lock.writeLock().lock();
+        try {
+            int slot = find(keyHash, key);
+            if (slot < 0) {
+                return null;
+            }
+            TodoRecord previous = read(addresses[slot]);
+            delete(slot);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            chunks = new ArrayList<>();
+            position = 0;
+            liveBytes = 0;
+            deadBytes = 0;
+            resetTable(INITIAL_CAPACITY);
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Stream<TodoRecord> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new SnapshotIterator(),
+                Spliterator.NONNULL), false);
+    }
+
+    long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (ByteBuffer chunk : chunks) {
+                bytes += chunk.capacity();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TodoRecord compute(String id, BiFunction<String, TodoRecord, TodoRecord> function, boolean onlyIfPresent) {
+        byte[] key = utf8(id);
+        long keyHash = hash.applyAsLong(id);
+        lock.writeLock().lock();
+        try {
+            int slot = find(keyHash, key);
+            TodoRecord existing = slot < 0 ? null : read(addresses[slot]);
+            if (existing == null && onlyIfPresent) {
+                return null;
+            }
+            TodoRecord result = function.apply(id, existing);
+            if (result != null) {
+                write(slot, keyHash, key, result);
+            } else if (slot >= 0) {
+                delete(slot);
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(int slot, long keyHash, byte[] key, TodoRecord record) {
+        long commit = ++commits;
+        long address = append(key, record);
+        if (slot >= 0) {
+            kill(addresses[slot], commit);
+            addresses[slot] = address;
+        } else {
+            if ((size + 1) * 4L > hashes.length * 3L) {
+                resize(hashes.length * 2);
+            }
+            insertSlot(keyHash, address);
+            size++;
+        }
+        compactIfWasteful();
+    }
+
+    private void delete(int slot) {
+        kill(addresses[slot], ++commits);
+        removeSlot(slot);
+        size--;
+        compactIfWasteful();
+    }
+
+    private long append(byte[] id, TodoRecord record) {
+        byte[] owner = utf8(record.owner());
+        byte[] title = utf8(record.title());
+        byte[] description = utf8(record.description());
+        int recordSize = ID_OFFSET + 4 * Integer.BYTES + length(id) + length(owner) + length(title) + length(description);
+        ByteBuffer chunk = chunkFor(recordSize);
+        int start = position;
+        chunk.putLong(start + SUPERSEDED_OFFSET, 0);
+        chunk.putLong(start + VERSION_OFFSET, record.version());
+        chunk.putLong(start + DATE_OFFSET, record.completionDate() == null ? NO_DATE : record.completionDate().toEpochDay());
+        int offset = putBytes(chunk, start + ID_OFFSET, id);
+        offset = putBytes(chunk, offset, owner);
+        offset = putBytes(chunk, offset, title);
+        putBytes(chunk, offset, description);
+        // The length goes in last: a zero length marks the end of a chunk's records for iterators.
+        chunk.putInt(start + LENGTH_OFFSET, recordSize);
+        position += recordSize;
+        liveBytes += recordSize;
+        return ((long) (chunks.size() - 1) << 32) | start;
+    }
+
+    private ByteBuffer chunkFor(int recordSize) {
+        if (!chunks.isEmpty()) {
+            ByteBuffer current = chunks.get(chunks.size() - 1);
+            if (position + recordSize + Integer.BYTES <= current.capacity()) {
+                return current;
+            }
+        }
+        // Direct buffers start zeroed, which is what terminates iteration at the write position.
+        ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, recordSize + Integer.BYTES));
+        chunks.add(chunk);
+        position = 0;
+        return chunk;
+    }
+
+    private void kill(long address, long commit) {
+        ByteBuffer chunk = chunks.get((int) (address >>> 32));
+        int offset = (int) address;
+        int recordSize = chunk.getInt(offset + LENGTH_OFFSET);
+        chunk.putLong(offset + SUPERSEDED_OFFSET, commit);
+        chunk.putInt(offset + LENGTH_OFFSET, -recordSize);
+        liveBytes -= recordSize;
+        deadBytes += recordSize;
+    }
+
+    private void compactIfWasteful() {
+        if (deadBytes <= liveBytes || deadBytes < chunkSize) {
+            return;
+        }
+        List<ByteBuffer> from = chunks;
+        chunks = new ArrayList<>();
+        position = 0;
+        for (int slot = 0; slot < addresses.length; slot++) {
+            if (addresses[slot] == EMPTY) {
+                continue;
+            }
+            ByteBuffer source = from.get((int) (addresses[slot] >>> 32));
+            int offset = (int) addresses[slot];
+            int recordSize = source.getInt(offset + LENGTH_OFFSET);
+            ByteBuffer target = chunkFor(recordSize);
+            target.put(position, source, offset, recordSize);
+            addresses[slot] = ((long) (chunks.size() - 1) << 32) | position;
+            position += recordSize;
+        }
+        deadBytes = 0;
+    }
+
+    private TodoRecord read(long address) {
+        return read(chunks.get((int) (address >>> 32)), (int) address);
+    }
+
+    private static TodoRecord read(ByteBuffer chunk, int start) {
+        long version = chunk.getLong(start + VERSION_OFFSET);
+        long epochDay = chunk.getLong(start + DATE_OFFSET);
+        int offset = start + ID_OFFSET;
+        String id = getString(chunk, offset);
+        offset += Integer.BYTES + Math.max(0, chunk.getInt(offset));
+        String owner = getString(chunk, offset);
+        offset += Integer.BYTES + Math.max(0, chunk.getInt(offset));
+        String title = getString(chunk, offset);
+        offset += Integer.BYTES + Math.max(0, chunk.getInt(offset));
+        String description = getString(chunk, offset);
+
+        return new TodoRecord(id, owner, title, description, epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay), version);
+    }
+
+    private boolean matches(long address, byte[] id) {
+        ByteBuffer chunk = chunks.get((int) (address >>> 32));
+        int offset = (int) address + ID_OFFSET;
+        if (chunk.getInt(offset) != id.length) {
+            return false;
+        }
+        offset += Integer.BYTES;
+        for (int i = 0; i < id.length; i++) {
+            if (chunk.get(offset + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int find(long keyHash, byte[] id) {
+        for (int slot = home(keyHash); addresses[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (hashes[slot] == keyHash && matches(addresses[slot], id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insertSlot(long keyHash, long address) {
+        int slot = home(keyHash);
+        while (addresses[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = keyHash;
+        addresses[slot] = address;
+    }
+
+    // Backward-shift deletion: later entries of the same probe run move up so lookups never need tombstones.
+    private void removeSlot(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & mask; addresses[next] != EMPTY; next = (next + 1) & mask) {
+            int home = home(hashes[next]);
+            boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!reachable) {
+                hashes[hole] = hashes[next];
+                addresses[hole] = addresses[next];
+                hole = next;
+            }
+        }
+        addresses[hole] = EMPTY;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHashes = hashes;
+        long[] oldAddresses = addresses;
+        resetTable(capacity);
+        for (int slot = 0; slot < oldAddresses.length; slot++) {
+            if (oldAddresses[slot] != EMPTY) {
+                insertSlot(oldHashes[slot], oldAddresses[slot]);
+            }
+        }
+    }
+
+    private void resetTable(int capacity) {
+        hashes = new long[capacity];
+        addresses = new long[capacity];
+        Arrays.fill(addresses, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private int home(long keyHash) {
+        return (int) (keyHash ^ (keyHash >>> 32)) & mask;
+    }
+
+    // FNV-1a over the characters, finished with the MurmurHash3 mixer so nearby ids spread across the table.
+    static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h = (h ^ id.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static int putBytes(ByteBuffer chunk, int offset, byte[] bytes) {
+        if (bytes == null) {
+            chunk.putInt(offset, NULL_LENGTH);
+            return offset + Integer.BYTES;
+        }
+        chunk.putInt(offset, bytes.length);
+        chunk.put(offset + Integer.BYTES, bytes);
+        return offset + Integer.BYTES + bytes.length;
+    }
+
+    private static String getString(ByteBuffer chunk, int offset) {
+        int length = chunk.getInt(offset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Walks the image up to the append position it opened at, a batch at a time under the read lock. Everything
+    // before that position was committed before the snapshot; a record counts if it is still live, or was only
+    // superseded by a later commit. Compaction and clear() swap in new chunks, so they never disturb the image.
+    private final class SnapshotIterator implements Iterator<TodoRecord> {
+        private static final int BATCH = 256;
+
+        private final List<ByteBuffer> image;
+        private final int lastChunk;
+        private final int end;
+        private final long snapshot;
+        private final List<TodoRecord> batch = new ArrayList<>(BATCH);
+        private int batchIndex;
+        private int chunk;
+        private int offset;
+        private boolean exhausted;
+
+        private SnapshotIterator() {
+            lock.readLock().lock();
+            try {
+                image = chunks;
+                lastChunk = chunks.size() - 1;
+                end = position;
+                snapshot = commits;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (batchIndex < batch.size()) {
+                return true;
+            }
+            if (!exhausted) {
+                fill();
+            }
+            return batchIndex < batch.size();
+        }
+
+        @Override
+        public TodoRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(batchIndex++);
+        }
+
+        private void fill() {
+            batch.clear();
+            batchIndex = 0;
+            lock.readLock().lock();
+            try {
+                while (batch.size() < BATCH && chunk <= lastChunk) {
+                    ByteBuffer buffer = image.get(chunk);
+                    int limit = chunk == lastChunk ? end : buffer.capacity();
+                    int recordSize = offset + Integer.BYTES <= limit ? buffer.getInt(offset) : 0;
+                    if (recordSize == 0) {
+                        chunk++;
+                        offset = 0;
+                        continue;
+                    }
+                    if (recordSize > 0 || buffer.getLong(offset + SUPERSEDED_OFFSET) > snapshot) {
+                        batch.add(read(buffer, offset));
+                    }
+                    offset += Math.abs(recordSize);
+                }
+                if (batch.isEmpty()) {
+                    exhausted = true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.todo.app.repository;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Splits todos by id hash across independently locked shards, each a store of its own, so writers on different
+// shards never wait for each other. Anything spanning shards - a batch, a snapshot, clear() - takes the locks it
+// needs in shard order, which is what keeps two of them from deadlocking. Reads go straight to the shard.
+public class ShardedTodoStore implements TodoStore {
+    private final TodoStore[] shards;
+    private final ReentrantLock[] locks;
+
+    public ShardedTodoStore(int shards, Supplier<TodoStore> shardFactory) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.shards = new TodoStore[shards];
+        this.locks = new ReentrantLock[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = shardFactory.get();
+            this.locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public TodoRecord get(String id) {
+        return shards[shardOf(id)].get(id);
+    }
+
+    @Override
+    public TodoRecord put(String id, TodoRecord record) {
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            return shards[shard].put(id, record);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public TodoRecord compute(String id, BiFunction<String, TodoRecord, TodoRecord> function) {
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            return shards[shard].compute(id, function);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public TodoRecord computeIfPresent(String id, BiFunction<String, TodoRecord, TodoRecord> function) {
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            return shards[shard].computeIfPresent(id, function);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public TodoRecord remove(String id) {
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            return shards[shard].remove(id);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        atomically(all(), () -> {
+            for (TodoStore shard : shards) {
+                shard.clear();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (TodoStore shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    // With every shard locked no write is half done anywhere, so the per-shard snapshots share one point in time.
+    @Override
+    public Stream<TodoRecord> stream() {
+        Stream<TodoRecord>[] streams = atomically(all(), () -> {
+            @SuppressWarnings("unchecked")
+            Stream<TodoRecord>[] opened = new Stream[shards.length];
+            for (int i = 0; i < shards.length; i++) {
+                opened[i] = shards[i].stream();
+            }
+            return opened;
+        });
+        return Arrays.stream(streams).flatMap(shard -> shard)
+                .onClose(() -> Arrays.stream(streams).forEach(Stream::close));
+    }
+
+    // Locks are reentrant, so the writes inside the action take their shard's lock again without blocking.
+    @Override
+    public <T> T atomically(Collection<String> ids, Supplier<T> action) {
+        BitSet involved = new BitSet(shards.length);
+        for (String id : ids) {
+            involved.set(shardOf(id));
+        }
+        return atomically(involved, action);
+    }
+
+    int shardOf(String id) {
+        // Multiply-shift maps the high half of the hash onto the shards without a division.
+        return (int) (((OffHeapTodoStore.hash(id) >>> 32) * shards.length) >>> 32);
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(shards.length);
+        all.set(0, shards.length);
+        return all;
+    }
+
+    private <T> T atomically(BitSet involved, Supplier<T> action) {
+        int locked = -1;
+        try {
+            for (int shard = involved.nextSetBit(0); shard >= 0; shard = involved.nextSetBit(shard + 1)) {
+                locks[shard].lock();
+                locked = shard;
+            }
+            return action.get();
+        } finally {
+            for (int shard = locked; shard >= 0; shard = involved.previousSetBit(shard - 1)) {
+                locks[shard].unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.todo.app.repository;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// ULID-style ids: the high long is a 48-bit millisecond timestamp followed by a 16-bit sequence, the low long is
+// random. Both are rendered as 26 Crockford base32 characters, whose lexical order matches numeric order, so
+// ids sort by creation time and can be used directly as a paging key.
+public class TimeOrderedIdGenerator implements IdGenerator {
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    static final int LENGTH = 26;
+
+    private final LongSupplier clock;
+    private final AtomicLong lastHigh = new AtomicLong();
+
+    public TimeOrderedIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    // Within a millisecond, or when the clock steps back, the sequence bits keep counting from the last id
+    // instead, so ids from one generator are strictly increasing without a lock.
+    @Override
+    public String nextId() {
+        long now = clock.getAsLong() << 16;
+        long high = lastHigh.accumulateAndGet(now, (last, candidate) -> Math.max(candidate, last + 1));
+        return encode(high, ThreadLocalRandom.current().nextLong());
+    }
+
+    static String encode(long high, long low) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,22 @@
+package com.todo.app.repository;
+
+import com.todo.app.model.TodoItem;
+
+import java.time.LocalDate;
+
+// The stored form of a todo. Stores only ever hold these, so an item handed to or returned from the repository
+// can be changed by its caller without touching what other readers see.
+public record TodoRecord(String id, String owner, String title, String description, LocalDate completionDate, long version) {
+
+    public static TodoRecord of(TodoItem item) {
+        return new TodoRecord(item.getId(), item.getOwner(), item.getTitle(), item.getDescription(), item.getCompletionDate(), item.getVersion());
+    }
+
+    public TodoItem toItem() {
+        TodoItem item = new TodoItem(title, description, completionDate);
+        item.setId(id);
+        item.setOwner(owner);
+        item.setVersion(version);
+        return item;
+    }
+}
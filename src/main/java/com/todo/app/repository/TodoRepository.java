@@ -1,51 +1,786 @@
 package com.todo.app.repository;
 
+import com.todo.app.exeptions.QuotaExceededException;
+import com.todo.app.exeptions.VersionConflictException;
+import com.todo.app.jfr.RepositoryOperationEvent;
 import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoSort;
+import com.todo.app.persistence.SnapshotStore;
+import com.todo.app.persistence.WriteAheadLog;
+import com.todo.app.repository.TodoRepositoryMetrics.Operation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class TodoRepository {
-    private final ConcurrentHashMap<String, TodoItem> todoItems = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(TodoRepository.class);
+    public static final long ANY_VERSION = -1;
 
+    private final TodoStore store;
+    // Swapped for an empty set by clear(), like the store's generation, instead of being emptied entry by entry.
+    private volatile Indexes indexes = new Indexes();
+    // Bumped after every change is visible in the store. The store-wide counter is not persisted, so the epoch
+    // keeps tags issued before a restart from matching the recovered store.
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    // Writers share the read lock; clear() takes the write lock so it is atomic with respect to them.
+    private final ReentrantReadWriteLock clearLock = new ReentrantReadWriteLock();
+    // A lock rather than synchronized so a snapshot blocked on disk I/O does not pin a virtual thread's carrier.
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final WriteAheadLog writeAheadLog;
+    private final SnapshotStore snapshotStore;
+    private final TodoRepositoryMetrics metrics;
+    private final IdGenerator idGenerator;
+    // Zero means no limit.
+    private final int maxTodosPerOwner;
+
+    public TodoRepository() {
+        this((WriteAheadLog) null, null);
+    }
+
+    public TodoRepository(TodoStore store) {
+        this(store, null, null, null, new TimeOrderedIdGenerator());
+    }
+
+    @Autowired
+    public TodoRepository(ObjectProvider<TodoStore> store, ObjectProvider<WriteAheadLog> writeAheadLog,
+                          ObjectProvider<SnapshotStore> snapshotStore, ObjectProvider<MeterRegistry> meterRegistry,
+                          ObjectProvider<IdGenerator> idGenerator, @Value("${todo.owners.max-todos:0}") int maxTodosPerOwner) {
+        this(store.getIfAvailable(HeapTodoStore::new), writeAheadLog.getIfAvailable(), snapshotStore.getIfAvailable(),
+                meterRegistry.getIfAvailable(), idGenerator.getIfAvailable(TimeOrderedIdGenerator::new), maxTodosPerOwner);
+    }
+
+    public TodoRepository(WriteAheadLog writeAheadLog, SnapshotStore snapshotStore) {
+        this(writeAheadLog, snapshotStore, null);
+    }
+
+    public TodoRepository(WriteAheadLog writeAheadLog, SnapshotStore snapshotStore, MeterRegistry meterRegistry) {
+        this(writeAheadLog, snapshotStore, meterRegistry, new TimeOrderedIdGenerator());
+    }
+
+    public TodoRepository(WriteAheadLog writeAheadLog, SnapshotStore snapshotStore, MeterRegistry meterRegistry,
+                          IdGenerator idGenerator) {
+        this(new HeapTodoStore(), writeAheadLog, snapshotStore, meterRegistry, idGenerator);
+    }
+
+    public TodoRepository(TodoStore store, WriteAheadLog writeAheadLog, SnapshotStore snapshotStore,
+                          MeterRegistry meterRegistry, IdGenerator idGenerator) {
+        this(store, writeAheadLog, snapshotStore, meterRegistry, idGenerator, 0);
+    }
+
+    public TodoRepository(TodoStore store, WriteAheadLog writeAheadLog, SnapshotStore snapshotStore,
+                          MeterRegistry meterRegistry, IdGenerator idGenerator, int maxTodosPerOwner) {
+        this.store = store;
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotStore = snapshotStore;
+        this.metrics = new TodoRepositoryMetrics(meterRegistry, store);
+        this.idGenerator = idGenerator;
+        this.maxTodosPerOwner = maxTodosPerOwner;
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover todos", e);
+        }
+    }
+
+    // Every todo as of one point in time; writes that land while the list is built are not in it.
     public List<TodoItem> findAll() {
-        return new ArrayList<>(todoItems.values());
+        return timed(Operation.FIND_ALL, null, () -> {
+            try (Stream<TodoRecord> records = store.stream()) {
+                return records.map(TodoRecord::toItem).collect(Collectors.toCollection(ArrayList::new));
+            }
+        });
+    }
+
+    // The same point-in-time view, read lazily so memory stays flat however many todos there are. Callers close
+    // the stream (draining it also does) so the store stops keeping versions for it.
+    public Stream<TodoItem> stream() {
+        return timed(Operation.STREAM, null, () -> store.stream().map(TodoRecord::toItem));
+    }
+
+    public List<TodoItem> findPage(String afterId, int limit) {
+        return timed(Operation.FIND_PAGE, null, () -> {
+            NavigableSet<String> orderedIds = indexes.orderedIds;
+            NavigableSet<String> ids = afterId == null ? orderedIds : orderedIds.tailSet(afterId, false);
+            List<TodoItem> page = new ArrayList<>(limit);
+            for (String id : ids) {
+                if (page.size() == limit) {
+                    break;
+                }
+                TodoRecord record = store.get(id);
+                if (record != null) {
+                    page.add(record.toItem());
+                }
+            }
+            return page;
+        });
+    }
+
+    // Walks a sorted view from the cursor and stops once it has the page, so neither sorting nor a full scan is
+    // paid per request. The filter keeps todos whose title contains it, ignoring case; a rare filter walks further.
+    public List<TodoItem> findSorted(TodoSort sort, String filter, String afterKey, int limit) {
+        return timed(Operation.FIND_SORTED, null, () -> {
+            List<TodoItem> items = new ArrayList<>(Math.min(limit, 1024));
+            Set<String> seen = new HashSet<>();
+            Iterator<TodoRecord> records = sorted(indexes, sort, afterKey).iterator();
+            while (items.size() < limit && records.hasNext()) {
+                TodoRecord record = records.next();
+                if ((filter == null || containsIgnoreCase(record.title(), filter)) && seen.add(record.id())) {
+                    items.add(record.toItem());
+                }
+            }
+            return items;
+        });
+    }
+
+    public List<TodoItem> findByCompletionDateBetween(LocalDate from, LocalDate to) {
+        return timed(Operation.FIND_BY_COMPLETION_DATE_BETWEEN, null,
+                () -> resolve(to.equals(LocalDate.MAX)
+                        ? indexes.dueDates.tailSet(DueDateKey.first(from), true)
+                        : indexes.dueDates.subSet(DueDateKey.first(from), true, DueDateKey.first(to.plusDays(1)), false), Integer.MAX_VALUE));
+    }
+
+    public List<TodoItem> findByCompletionDateBefore(LocalDate date) {
+        return findByCompletionDateBefore(date, Integer.MAX_VALUE);
+    }
+
+    // Earliest due first, so repeated calls with a small limit work through the overdue todos oldest first.
+    public List<TodoItem> findByCompletionDateBefore(LocalDate date, int limit) {
+        return timed(Operation.FIND_BY_COMPLETION_DATE_BEFORE, null,
+                () -> resolve(indexes.dueDates.headSet(DueDateKey.first(date), false), limit));
+    }
+
+    public List<TodoItem> search(String query, int limit) {
+        return timed(Operation.SEARCH, null, () -> {
+            List<TodoItem> items = new ArrayList<>();
+            for (String id : indexes.search.search(query, limit)) {
+                TodoRecord record = store.get(id);
+                if (record != null) {
+                    items.add(record.toItem());
+                }
+            }
+            return items;
+        });
+    }
+
+    // Walks only the owner's own index, in creation order, so the cost follows that owner's todos, not everyone's.
+    public List<TodoItem> findByOwner(String owner) {
+        return timed(Operation.FIND_BY_OWNER, null, () -> {
+            OwnerIndex index = indexes.owners.get(ownerKey(owner));
+            List<TodoItem> items = new ArrayList<>();
+            if (index != null) {
+                for (String id : index.ids) {
+                    TodoRecord record = store.get(id);
+                    if (record != null) {
+                        items.add(record.toItem());
+                    }
+                }
+            }
+            return items;
+        });
+    }
+
+    // Owners with at least one todo, or a save in flight.
+    int ownerPartitions() {
+        return indexes.owners.size();
     }
 
+    public int countByOwner(String owner) {
+        return timed(Operation.COUNT_BY_OWNER, null, () -> {
+            OwnerIndex index = indexes.owners.get(ownerKey(owner));
+            return index == null ? 0 : index.count.get();
+        });
+    }
+
+    // Deletes the owner's todos as one batch and returns the ids that went.
+    public List<String> deleteByOwner(String owner) {
+        return timed(Operation.DELETE_BY_OWNER, null, () -> {
+            OwnerIndex index = indexes.owners.get(ownerKey(owner));
+            if (index == null) {
+                return List.of();
+            }
+            List<String> ids = new ArrayList<>(index.ids);
+            List<Boolean> deleted = applyAll(ids, Function.identity(), this::remove);
+            List<String> removed = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                if (deleted.get(i)) {
+                    removed.add(ids.get(i));
+                }
+            }
+            return removed;
+        });
+    }
+
+    // Timed inline rather than through timed(...) to keep the hottest read free of a capturing lambda.
     public Optional<TodoItem> findById(String id) {
-        return Optional.ofNullable(todoItems.get(id));
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return Optional.ofNullable(store.get(id)).map(TodoRecord::toItem);
+        } catch (RuntimeException e) {
+            metrics.failed(Operation.FIND_BY_ID);
+            throw e;
+        } finally {
+            metrics.record(Operation.FIND_BY_ID, start);
+            emit(event, Operation.FIND_BY_ID, id);
+        }
     }
 
     public TodoItem save(TodoItem item) {
-        item.setId(UUID.randomUUID().toString());
-        todoItems.put(item.getId(), item);
-        return item;
+        return timed(Operation.SAVE, null, () -> {
+            Applied<TodoItem> applied;
+            assignId(item);
+            clearLock.readLock().lock();
+            try {
+                applied = insert(item);
+            } finally {
+                clearLock.readLock().unlock();
+            }
+            if (applied.value() == null) {
+                throw new QuotaExceededException(item.getOwner(), maxTodosPerOwner);
+            }
+            awaitDurable(applied.logged());
+            return applied.value();
+        });
+    }
+
+    public List<TodoItem> saveAll(List<TodoItem> items) {
+        return timed(Operation.SAVE_ALL, null, () -> {
+            items.forEach(this::assignId);
+            return applyAll(items, TodoItem::getId, this::insert);
+        });
     }
 
     public boolean delete(String id) {
-        return todoItems.remove(id) != null;
+        return timed(Operation.DELETE, id, () -> {
+            Applied<Boolean> applied;
+            clearLock.readLock().lock();
+            try {
+                applied = remove(id);
+            } finally {
+                clearLock.readLock().unlock();
+            }
+            awaitDurable(applied.logged());
+            return applied.value();
+        });
+    }
+
+    public List<Boolean> deleteAll(List<String> ids) {
+        return timed(Operation.DELETE_ALL, null, () -> applyAll(ids, Function.identity(), this::remove));
+    }
+
+    // Deletes each todo only if it is still at the version given, so a caller that copied the todos elsewhere
+    // never drops a change made after its copy. A todo that has changed, or is gone, reports false.
+    public List<Boolean> deleteUnchanged(List<TodoItem> items) {
+        return timed(Operation.DELETE_UNCHANGED, null,
+                () -> applyAll(items, TodoItem::getId, item -> remove(item.getId(), item.getVersion())));
     }
 
     public void clear() {
-        todoItems.clear();
+        timed(Operation.CLEAR, null, () -> {
+            CompletableFuture<Void> logged;
+            clearLock.writeLock().lock();
+            try {
+                logged = log(WriteAheadLog.Operation.CLEAR, null, null);
+                startGeneration();
+                version.incrementAndGet();
+            } finally {
+                clearLock.writeLock().unlock();
+            }
+            awaitDurable(logged);
+            return null;
+        });
+    }
+
+    public String versionTag() {
+        return epoch + "-" + version.get();
     }
 
     public int count() {
-        return todoItems.size();
+        return timed(Operation.COUNT, null, store::size);
     }
 
     public TodoItem update(String id, TodoItem updatedItem) {
-        if (todoItems.containsKey(id)) {
-            updatedItem.setId(id);
-            todoItems.put(id, updatedItem);
-            return updatedItem;
+        return update(id, updatedItem, ANY_VERSION);
+    }
+
+    // The version check and the swap happen in one computeIfPresent, so a concurrent update or delete of the
+    // same id either lands entirely before or entirely after it.
+    public TodoItem update(String id, TodoItem updatedItem, long expectedVersion) {
+        return timed(Operation.UPDATE, id, () -> {
+            Applied<TodoItem> applied;
+            clearLock.readLock().lock();
+            try {
+                applied = replace(id, updatedItem, expectedVersion);
+            } finally {
+                clearLock.readLock().unlock();
+            }
+            awaitDurable(applied.logged());
+            return applied.value();
+        });
+    }
+
+    public List<TodoItem> updateAll(List<TodoItem> updatedItems) {
+        return timed(Operation.UPDATE_ALL, null, () -> applyAll(updatedItems, TodoItem::getId,
+                item -> replace(item.getId(), item, ANY_VERSION)));
+    }
+
+    // Rotates the log and opens a store snapshot under the same write lock, so the snapshot holds exactly what the
+    // older segments describe; it is then written out while writers carry on.
+    public long writeSnapshot() throws IOException {
+        if (snapshotStore == null || writeAheadLog == null) {
+            return 0;
+        }
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        snapshotLock.lock();
+        try {
+            CompletableFuture<Long> rotated;
+            Stream<TodoRecord> records;
+            clearLock.writeLock().lock();
+            try {
+                rotated = writeAheadLog.rotate();
+                records = store.stream();
+            } finally {
+                clearLock.writeLock().unlock();
+            }
+            try (records) {
+                long segment = rotated.join();
+                long count = snapshotStore.write(segment, records.map(TodoRecord::toItem).iterator());
+                writeAheadLog.deleteSegmentsThrough(segment);
+                return count;
+            }
+        } catch (IOException | RuntimeException e) {
+            metrics.failed(Operation.WRITE_SNAPSHOT);
+            throw e;
+        } finally {
+            snapshotLock.unlock();
+            metrics.record(Operation.WRITE_SNAPSHOT, start);
+            emit(event, Operation.WRITE_SNAPSHOT, null);
+        }
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        long coveredSegment = 0;
+        if (snapshotStore != null) {
+            coveredSegment = snapshotStore.load(item -> replay(new WriteAheadLog.Entry(WriteAheadLog.Operation.SAVE, item.getId(), item)));
+        }
+        int fromSnapshot = store.size();
+        if (writeAheadLog != null) {
+            writeAheadLog.replay(coveredSegment, this::replay);
+        }
+        if (snapshotStore != null || writeAheadLog != null) {
+            logger.info("Recovered {} todos ({} from snapshot) in {} ms", store.size(), fromSnapshot,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void replay(WriteAheadLog.Entry entry) {
+        switch (entry.operation()) {
+            case SAVE, UPDATE -> {
+                TodoRecord record = TodoRecord.of(entry.item());
+                TodoRecord previous = store.put(entry.id(), record);
+                if (previous != null) {
+                    indexes.replace(previous, record);
+                } else {
+                    // Recovery restores whatever was logged, even past a quota that has since been lowered.
+                    indexes.reserve(record.owner(), 0);
+                    indexes.add(record);
+                }
+            }
+            case DELETE -> {
+                TodoRecord removed = store.remove(entry.id());
+                if (removed != null) {
+                    indexes.remove(removed);
+                }
+            }
+            case CLEAR -> startGeneration();
+        }
+    }
+
+    // Batches take the lock once and wait for the log once, after every item has been applied.
+    private <T> T timed(Operation operation, String id, Supplier<T> action) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } catch (VersionConflictException e) {
+            // A stale If-Match is the client's precondition failing, not the repository.
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.failed(operation);
+            throw e;
+        } finally {
+            metrics.record(operation, start);
+            emit(event, operation, id);
+        }
+    }
+
+    // With no recording enabling the event, shouldCommit() is constant false after JIT and the event never escapes.
+    private void emit(RepositoryOperationEvent event, Operation operation, String id) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.method();
+            event.todoId = id;
+            event.storeSize = store.size();
+            event.commit();
+        }
+    }
+
+    // On a store that can lock the batch's ids, no other writer or snapshot sees the batch half applied.
+    private <T, R> List<R> applyAll(List<T> inputs, Function<T, String> idOf, Function<T, Applied<R>> operation) {
+        List<String> ids = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            String id = idOf.apply(input);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        List<Applied<R>> applied = new ArrayList<>(inputs.size());
+        clearLock.readLock().lock();
+        try {
+            store.atomically(ids, () -> {
+                for (T input : inputs) {
+                    applied.add(operation.apply(input));
+                }
+                return null;
+            });
+        } finally {
+            clearLock.readLock().unlock();
+        }
+        List<R> results = new ArrayList<>(applied.size());
+        for (Applied<R> result : applied) {
+            awaitDurable(result.logged());
+            results.add(result.value());
+        }
+        return results;
+    }
+
+    // Batches need their ids before the store can lock them, so ids are assigned ahead of insert().
+    private void assignId(TodoItem item) {
+        item.setId(idGenerator.nextId());
+        item.setVersion(1);
+    }
+
+    // A todo over its owner's quota is not written and comes back as a null value, which batches report per item.
+    private Applied<TodoItem> insert(TodoItem item) {
+        Indexes current = indexes;
+        if (!current.reserve(item.getOwner(), maxTodosPerOwner)) {
+            return new Applied<>(null, null);
+        }
+        TodoRecord record = TodoRecord.of(item);
+        CompletableFuture<Void> logged;
+        try {
+            logged = log(WriteAheadLog.Operation.SAVE, item.getId(), item);
+        } catch (RuntimeException e) {
+            current.release(item.getOwner());
+            throw e;
+        }
+        // Indexes are written inside compute() so they change in the same order as the stored value.
+        store.compute(item.getId(), (id, existing) -> {
+            current.add(record);
+            return record;
+        });
+        version.incrementAndGet();
+        return new Applied<>(item, logged);
+    }
+
+    private Applied<TodoItem> replace(String id, TodoItem updatedItem, long expectedVersion) {
+        AtomicReference<CompletableFuture<Void>> logged = new AtomicReference<>();
+        Indexes current = indexes;
+        TodoRecord result = store.computeIfPresent(id, (key, existing) -> {
+            if (expectedVersion != ANY_VERSION && existing.version() != expectedVersion) {
+                throw new VersionConflictException(key, expectedVersion, existing.version());
+            }
+            // Like the id and version, the owner is the server's; an update cannot move a todo to another list.
+            updatedItem.setId(key);
+            updatedItem.setOwner(existing.owner());
+            updatedItem.setVersion(existing.version() + 1);
+            TodoRecord record = TodoRecord.of(updatedItem);
+            logged.set(log(WriteAheadLog.Operation.UPDATE, key, updatedItem));
+            current.replace(existing, record);
+            return record;
+        });
+        if (result == null) {
+            return new Applied<>(null, null);
+        }
+        version.incrementAndGet();
+        return new Applied<>(updatedItem, logged.get());
+    }
+
+    // Logged inside computeIfPresent, so a log that refuses the delete leaves the todo where it was.
+    private Applied<Boolean> remove(String id) {
+        AtomicReference<CompletableFuture<Void>> logged = new AtomicReference<>();
+        AtomicBoolean removed = new AtomicBoolean();
+        Indexes current = indexes;
+        store.computeIfPresent(id, (key, existing) -> {
+            logged.set(log(WriteAheadLog.Operation.DELETE, key, null));
+            current.remove(existing);
+            removed.set(true);
+            return null;
+        });
+        if (!removed.get()) {
+            return new Applied<>(false, null);
+        }
+        version.incrementAndGet();
+        return new Applied<>(true, logged.get());
+    }
+
+    // The version check and the removal happen in one computeIfPresent; a mismatch throws out of it, leaving the
+    // stored record untouched rather than rewritten.
+    private Applied<Boolean> remove(String id, long expectedVersion) {
+        AtomicReference<CompletableFuture<Void>> logged = new AtomicReference<>();
+        AtomicBoolean removed = new AtomicBoolean();
+        Indexes current = indexes;
+        try {
+            store.computeIfPresent(id, (key, existing) -> {
+                if (existing.version() != expectedVersion) {
+                    throw new VersionConflictException(key, expectedVersion, existing.version());
+                }
+                logged.set(log(WriteAheadLog.Operation.DELETE, key, null));
+                current.remove(existing);
+                removed.set(true);
+                return null;
+            });
+        } catch (VersionConflictException e) {
+            return new Applied<>(false, null);
+        }
+        if (!removed.get()) {
+            return new Applied<>(false, null);
+        }
+        version.incrementAndGet();
+        return new Applied<>(true, logged.get());
+    }
+
+    private CompletableFuture<Void> log(WriteAheadLog.Operation operation, String id, TodoItem item) {
+        return writeAheadLog == null ? null : writeAheadLog.append(operation, id, item);
+    }
+
+    private static void awaitDurable(CompletableFuture<Void> logged) {
+        if (logged != null) {
+            logged.join();
+        }
+    }
+
+    // Both swaps are O(1); the old generation is left to snapshots still reading it and then to the collector.
+    private void startGeneration() {
+        store.clear();
+        indexes = new Indexes();
+    }
+
+    private Stream<TodoRecord> sorted(Indexes current, TodoSort sort, String afterKey) {
+        int split = afterKey == null ? -1 : afterKey.indexOf(' ');
+        if (afterKey != null && sort.field() != TodoSort.Field.CREATED && split < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
-        return null;
+        String afterId = split < 0 ? afterKey : afterKey.substring(0, split);
+        String afterValue = split < 0 ? null : afterKey.substring(split + 1);
+        boolean descending = sort.descending();
+        return switch (sort.field()) {
+            case CREATED -> walk(current.orderedIds, afterId, descending, Function.identity(), (id, record) -> true);
+            case TITLE -> walk(current.titles, afterKey == null ? null : new TitleKey(afterValue, afterId), descending,
+                    TitleKey::id, (key, record) -> key.title().equals(TitleKey.titleOf(record)));
+            case COMPLETION_DATE -> {
+                // Undated todos sort after every date, so they come last ascending and first descending.
+                boolean afterUndated = afterValue != null && afterValue.isEmpty();
+                DueDateKey afterDate = afterKey == null || afterUndated ? null : new DueDateKey(parseDate(afterValue), afterId);
+                Stream<TodoRecord> dated = afterUndated && !descending ? Stream.empty()
+                        : walk(current.dueDates, afterDate, descending, DueDateKey::id,
+                        (key, record) -> key.date().equals(record.completionDate()));
+                Stream<TodoRecord> undated = afterDate != null && descending ? Stream.empty()
+                        : walk(current.undated, afterUndated ? afterId : null, descending, Function.identity(),
+                        (id, record) -> record.completionDate() == null);
+                yield descending ? Stream.concat(undated, dated) : Stream.concat(dated, undated);
+            }
+        };
+    }
+
+    // Index entries change just before the stored record does, so an entry that no longer describes its record is
+    // passed over; the record is reached through its current entry instead.
+    private <K> Stream<TodoRecord> walk(NavigableSet<K> view, K after, boolean descending, Function<K, String> idOf,
+                                        BiPredicate<K, TodoRecord> current) {
+        NavigableSet<K> ordered = descending ? view.descendingSet() : view;
+        return (after == null ? ordered : ordered.tailSet(after, false)).stream()
+                .map(key -> {
+                    TodoRecord record = store.get(idOf.apply(key));
+                    return record != null && current.test(key, record) ? record : null;
+                })
+                .filter(Objects::nonNull);
     }
 
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i <= text.length() - part.length(); i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<TodoItem> resolve(Set<DueDateKey> keys, int limit) {
+        List<TodoItem> items = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (DueDateKey key : keys) {
+            if (items.size() == limit) {
+                break;
+            }
+            TodoRecord record = store.get(key.id());
+            // An update may briefly leave the id under both dates; only the one matching the stored record counts.
+            if (record != null && key.date().equals(record.completionDate()) && seen.add(key.id())) {
+                items.add(record.toItem());
+            }
+        }
+        return items;
+    }
+
+    private record Applied<T>(T value, CompletableFuture<Void> logged) {
+    }
+
+    private static String ownerKey(String owner) {
+        return owner == null ? "" : owner;
+    }
+
+    private static final class Indexes {
+        // Ids are time-ordered, so iterating this set walks todos in creation order.
+        private final ConcurrentSkipListSet<String> orderedIds = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<DueDateKey> dueDates = new ConcurrentSkipListSet<>(DueDateKey.ORDER);
+        private final ConcurrentSkipListSet<String> undated = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<TitleKey> titles = new ConcurrentSkipListSet<>(TitleKey.ORDER);
+        private final TodoSearchIndex search = new TodoSearchIndex();
+        private final ConcurrentHashMap<String, OwnerIndex> owners = new ConcurrentHashMap<>();
+
+        // Claims the owner's slot before the todo is written, so concurrent saves cannot overshoot the quota. Counts
+        // only change inside compute(), so a partition is dropped exactly when its last slot goes and a slot is never
+        // claimed in a partition that has just been dropped.
+        private boolean reserve(String owner, int quota) {
+            AtomicBoolean reserved = new AtomicBoolean();
+            owners.compute(ownerKey(owner), (key, existing) -> {
+                OwnerIndex index = existing == null ? new OwnerIndex() : existing;
+                if (quota <= 0 || index.count.get() < quota) {
+                    index.count.incrementAndGet();
+                    reserved.set(true);
+                }
+                return index.count.get() == 0 ? null : index;
+            });
+            return reserved.get();
+        }
+
+        private void release(String owner) {
+            owners.computeIfPresent(ownerKey(owner), (key, index) -> index.count.decrementAndGet() == 0 ? null : index);
+        }
+
+        // The reserved slot keeps the partition alive until the todo is removed again.
+        private void add(TodoRecord record) {
+            orderedIds.add(record.id());
+            owners.get(ownerKey(record.owner())).ids.add(record.id());
+            addTerms(record);
+        }
+
+        private void replace(TodoRecord previous, TodoRecord record) {
+            removeTerms(previous);
+            addTerms(record);
+        }
+
+        private void remove(TodoRecord record) {
+            orderedIds.remove(record.id());
+            owners.computeIfPresent(ownerKey(record.owner()), (key, index) -> {
+                index.ids.remove(record.id());
+                return index.count.decrementAndGet() == 0 ? null : index;
+            });
+            removeTerms(record);
+        }
+
+        private void addTerms(TodoRecord record) {
+            if (record.completionDate() != null) {
+                dueDates.add(new DueDateKey(record.completionDate(), record.id()));
+            } else {
+                undated.add(record.id());
+            }
+            titles.add(new TitleKey(TitleKey.titleOf(record), record.id()));
+            search.add(record.id(), record.title(), record.description());
+        }
+
+        private void removeTerms(TodoRecord record) {
+            if (record.completionDate() != null) {
+                dueDates.remove(new DueDateKey(record.completionDate(), record.id()));
+            } else {
+                undated.remove(record.id());
+            }
+            titles.remove(new TitleKey(TitleKey.titleOf(record), record.id()));
+            search.remove(record.id());
+        }
+    }
+
+    // The count is kept beside the ids because a skip list's size() walks every entry. It includes saves that have
+    // claimed a slot but not yet landed in the store.
+    private static final class OwnerIndex {
+        private final ConcurrentSkipListSet<String> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger count = new AtomicInteger();
+    }
+
+    private record DueDateKey(LocalDate date, String id) {
+        static final Comparator<DueDateKey> ORDER = Comparator.comparing(DueDateKey::date).thenComparing(DueDateKey::id);
+
+        static DueDateKey first(LocalDate date) {
+            return new DueDateKey(date, "");
+        }
+    }
+
+    // Case-insensitive, with the exact title and then the id breaking ties, so the order is total and stable.
+    private record TitleKey(String title, String id) {
+        static final Comparator<TitleKey> ORDER = Comparator.comparing(TitleKey::title, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(TitleKey::title).thenComparing(TitleKey::id);
+
+        static String titleOf(TodoRecord record) {
+            return record.title() == null ? "" : record.title();
+        }
+    }
 }
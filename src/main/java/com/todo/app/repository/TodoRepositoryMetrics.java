@@ -0,0 +1,77 @@
+package com.todo.app.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+// Meters are registered once per operation up front, so recording is an array lookup plus a timer update
+// with no tag resolution on the request path.
+final class TodoRepositoryMetrics {
+    enum Operation {
+        FIND_ALL("findAll"),
+        STREAM("stream"),
+        FIND_PAGE("findPage"),
+        FIND_SORTED("findSorted"),
+        FIND_BY_COMPLETION_DATE_BETWEEN("findByCompletionDateBetween"),
+        FIND_BY_COMPLETION_DATE_BEFORE("findByCompletionDateBefore"),
+        SEARCH("search"),
+        FIND_BY_ID("findById"),
+        SAVE("save"),
+        SAVE_ALL("saveAll"),
+        DELETE("delete"),
+        DELETE_ALL("deleteAll"),
+        DELETE_UNCHANGED("deleteUnchanged"),
+        CLEAR("clear"),
+        COUNT("count"),
+        FIND_BY_OWNER("findByOwner"),
+        COUNT_BY_OWNER("countByOwner"),
+        DELETE_BY_OWNER("deleteByOwner"),
+        UPDATE("update"),
+        UPDATE_ALL("updateAll"),
+        WRITE_SNAPSHOT("writeSnapshot");
+
+        private final String method;
+
+        Operation(String method) {
+            this.method = method;
+        }
+
+        String method() {
+            return method;
+        }
+    }
+
+    private final Timer[] timers = new Timer[Operation.values().length];
+    private final Counter[] errors = new Counter[Operation.values().length];
+
+    // A composite registry with no children hands out no-op meters, which is what the plain constructors get.
+    TodoRepositoryMetrics(MeterRegistry registry, TodoStore store) {
+        MeterRegistry target = registry == null ? new CompositeMeterRegistry() : registry;
+        for (Operation operation : Operation.values()) {
+            timers[operation.ordinal()] = Timer.builder("todo.repository.operations")
+                    .description("Latency of TodoRepository operations")
+                    .tag("method", operation.method)
+                    .publishPercentileHistogram()
+                    .register(target);
+            errors[operation.ordinal()] = Counter.builder("todo.repository.errors")
+                    .description("TodoRepository operations that threw")
+                    .tag("method", operation.method)
+                    .register(target);
+        }
+        Gauge.builder("todo.repository.size", store, TodoStore::size)
+                .description("Todos currently held in the store")
+                .register(target);
+    }
+
+    void record(Operation operation, long startNanos) {
+        timers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void failed(Operation operation) {
+        errors[operation.ordinal()].increment();
+    }
+}
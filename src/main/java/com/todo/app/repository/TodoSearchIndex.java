@@ -0,0 +1,125 @@
+package com.todo.app.repository;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TodoSearchIndex {
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Integer>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    public void add(String id, String title, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(title).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> terms.merge(term, 1, Integer::sum));
+
+        Map<String, Integer> previous = documents.put(id, terms);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+        terms.forEach((term, frequency) -> postings.compute(term, (key, ids) -> {
+            ConcurrentHashMap<String, Integer> list = ids == null ? new ConcurrentHashMap<>() : ids;
+            list.put(id, frequency);
+            return list;
+        }));
+        totalLength.addAndGet(length(terms));
+    }
+
+    public void remove(String id) {
+        Map<String, Integer> terms = documents.remove(id);
+        if (terms != null) {
+            unlink(id, terms);
+        }
+    }
+
+    public List<String> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        int documentCount = documents.size();
+        if (queryTerms.isEmpty() || documentCount == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+
+        Map<String, Double> scores = new HashMap<>();
+        for (String term : queryTerms) {
+            Map<String, Integer> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - ids.size() + 0.5) / (ids.size() + 0.5));
+            ids.forEach((id, frequency) -> {
+                Map<String, Integer> document = documents.get(id);
+                if (document == null) {
+                    return;
+                }
+                double norm = K1 * (1 - B + B * length(document) / averageLength);
+                scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+            });
+        }
+
+        PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String decoded = HtmlUtils.htmlUnescape(text).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < decoded.length(); i++) {
+            if (Character.isLetterOrDigit(decoded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(decoded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(decoded.substring(start));
+        }
+        return tokens;
+    }
+
+    private void unlink(String id, Map<String, Integer> terms) {
+        terms.keySet().forEach(term -> postings.computeIfPresent(term, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }));
+        totalLength.addAndGet(-length(terms));
+    }
+
+    private static int length(Map<String, Integer> terms) {
+        int length = 0;
+        for (int frequency : terms.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+}
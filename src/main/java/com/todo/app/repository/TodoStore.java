@@ -0,0 +1,35 @@
+package com.todo.app.repository;
+
+import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Primary record storage behind TodoRepository. The compute methods follow ConcurrentHashMap: the function runs
+// atomically for its key, and returning null removes the entry.
+public interface TodoStore {
+    TodoRecord get(String id);
+
+    TodoRecord put(String id, TodoRecord record);
+
+    TodoRecord compute(String id, BiFunction<String, TodoRecord, TodoRecord> function);
+
+    TodoRecord computeIfPresent(String id, BiFunction<String, TodoRecord, TodoRecord> function);
+
+    TodoRecord remove(String id);
+
+    // Starts a new, empty generation in constant time; streams opened before keep reading the old one.
+    void clear();
+
+    int size();
+
+    // A snapshot: exactly the records committed before the call, however long the stream runs and whatever is
+    // written meanwhile. Close or drain it, so the store can let go of versions it keeps for the snapshot.
+    Stream<TodoRecord> stream();
+
+    // Runs the action with no other writer touching these ids and no snapshot opening, so a batch of writes to
+    // them lands as one. Stores without locks to offer this just run the action.
+    default <T> T atomically(Collection<String> ids, Supplier<T> action) {
+        return action.get();
+    }
+}
@@ -0,0 +1,145 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Bounded reads (single todos, counts, pages and searches, all capped by a limit) run on the calling event loop.
+// Reads that copy out a whole list, however long it has grown, run on a read scheduler so they do not hold up the
+// event loop. Writes can wait on the write-ahead log's fsync, so they are moved onto a scheduler where blocking is
+// allowed.
+@Service
+public class ReactiveTodoService {
+
+        private final TodoService todoService;
+        private final Scheduler readScheduler;
+        private final Scheduler writeScheduler;
+
+        @Autowired
+        public ReactiveTodoService(TodoService todoService) {
+            this(todoService, Schedulers.parallel(), Schedulers.boundedElastic());
+        }
+
+        // Runs list reads and writes on the same scheduler.
+        public ReactiveTodoService(TodoService todoService, Scheduler scheduler) {
+            this(todoService, scheduler, scheduler);
+        }
+
+        public ReactiveTodoService(TodoService todoService, Scheduler readScheduler, Scheduler writeScheduler) {
+            this.todoService = todoService;
+            this.readScheduler = readScheduler;
+            this.writeScheduler = writeScheduler;
+        }
+
+        // Pulls from a store snapshot as the subscriber requests more, so a slow client holds no copy of the list;
+        // cancellation or completion closes the stream and releases the snapshot.
+        public Flux<TodoItem> streamTodoItems() {
+            return Flux.fromStream(todoService::streamTodoItems);
+        }
+
+        public Flux<TodoItem> getTodoItems(String sort, String filter) {
+            return list(() -> todoService.getTodoItems(sort, filter));
+        }
+
+        public Mono<TodoPage> getTodoItemPage(String cursor, int limit) {
+            return Mono.fromCallable(() -> todoService.getTodoItemPage(cursor, limit));
+        }
+
+        public Mono<TodoPage> getTodoItemPage(String cursor, int limit, String sort, String filter) {
+            return Mono.fromCallable(() -> todoService.getTodoItemPage(cursor, limit, sort, filter));
+        }
+
+        public Flux<TodoItem> getTodoItemsDueBetween(LocalDate from, LocalDate to) {
+            return list(() -> todoService.getTodoItemsDueBetween(from, to));
+        }
+
+        public Flux<TodoItem> getOverdueTodoItems() {
+            return list(todoService::getOverdueTodoItems);
+        }
+
+        public Flux<TodoItem> getTodoItemsDueToday() {
+            return list(todoService::getTodoItemsDueToday);
+        }
+
+        public Flux<TodoItem> getTodoItemsByOwner(String owner) {
+            return list(() -> todoService.getTodoItemsByOwner(owner));
+        }
+
+        public Flux<TodoItem> searchTodoItems(String query, int limit) {
+            return Mono.fromCallable(() -> todoService.searchTodoItems(query, limit)).flatMapIterable(items -> items);
+        }
+
+        public Mono<TodoItem> getTodoItemById(String id) {
+            return Mono.defer(() -> Mono.justOrEmpty(todoService.getTodoItemById(id)));
+        }
+
+        public Mono<String> getVersionTag() {
+            return Mono.fromSupplier(todoService::getVersionTag);
+        }
+
+        public Mono<Integer> count() {
+            return Mono.fromSupplier(todoService::count);
+        }
+
+        public Mono<Integer> countByOwner(String owner) {
+            return Mono.fromSupplier(() -> todoService.countByOwner(owner));
+        }
+
+        public Mono<TodoItem> createTodo(TodoItem todoItem) {
+            return write(() -> todoService.createTodo(todoItem));
+        }
+
+        public Mono<List<TodoBatchResult>> createTodoItems(List<TodoItem> items) {
+            return write(() -> todoService.createTodoItems(items));
+        }
+
+        public Mono<List<TodoBatchResult>> updateTodoItems(List<TodoItem> items) {
+            return write(() -> todoService.updateTodoItems(items));
+        }
+
+        public Mono<List<TodoBatchResult>> deleteTodoItems(List<String> ids) {
+            return write(() -> todoService.deleteTodoItems(ids));
+        }
+
+        public Mono<TodoItem> updateTodoItem(String id, TodoItem updatedItem) {
+            return write(() -> todoService.updateTodoItem(id, updatedItem));
+        }
+
+        public Mono<TodoItem> updateTodoItem(String id, TodoItem updatedItem, long expectedVersion) {
+            return write(() -> todoService.updateTodoItem(id, updatedItem, expectedVersion));
+        }
+
+        public Mono<Boolean> deleteTodoItem(String id) {
+            return write(() -> todoService.deleteTodoItem(id));
+        }
+
+        public Mono<Void> clearAll() {
+            return write(() -> {
+                todoService.clearAll();
+                return null;
+            }).then();
+        }
+
+        public Mono<Integer> clearOwner(String owner) {
+            return write(() -> todoService.clearOwner(owner));
+        }
+
+        private Flux<TodoItem> list(Callable<List<TodoItem>> query) {
+            return Mono.fromCallable(query).subscribeOn(readScheduler).flatMapIterable(items -> items);
+        }
+
+        // A null result, such as an update of a missing todo, completes empty.
+        private <T> Mono<T> write(Callable<T> operation) {
+            return Mono.fromCallable(operation).subscribeOn(writeScheduler);
+        }
+}
@@ -0,0 +1,89 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.persistence.TodoArchive;
+import com.todo.app.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Moves todos whose completion date is more than the retention period past into the archive. The sweep walks the
+// due-date index oldest first, one batch at a time, so writers only ever wait on a single batch.
+@Service
+@ConditionalOnProperty(name = "todo.retention.enabled", havingValue = "true")
+public class TodoArchiveService {
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiveService.class);
+
+    private final TodoRepository todoRepository;
+    private final TodoService todoService;
+    private final TodoArchive archive;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public TodoArchiveService(TodoRepository todoRepository, TodoService todoService, TodoArchive archive,
+                              @Value("${todo.retention.days}") int retentionDays,
+                              @Value("${todo.retention.batch-size:1000}") int batchSize) {
+        if (retentionDays < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Retention days must not be negative and the batch size must be positive");
+        }
+        this.todoRepository = todoRepository;
+        this.todoService = todoService;
+        this.archive = archive;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${todo.retention.sweep-interval}", fixedDelayString = "${todo.retention.sweep-interval}")
+    public void sweep() {
+        long start = System.nanoTime();
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        try {
+            long count = archiveDueBefore(cutoff);
+            if (count > 0) {
+                logger.info("Archived {} todos due before {} in {} ms", count, cutoff, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not archive todos due before {}", cutoff, e);
+        }
+    }
+
+    // Each batch is on disk before it leaves memory. Todos that changed in between stay live and their stale copies
+    // are retracted. A batch that changed entirely is left for the next sweep rather than retried here.
+    public long archiveDueBefore(LocalDate cutoff) throws IOException {
+        long archived = 0;
+        List<TodoItem> batch;
+        while (!(batch = todoRepository.findByCompletionDateBefore(cutoff, batchSize)).isEmpty()) {
+            archive.append(batch);
+            List<TodoItem> kept = todoService.removeArchived(batch);
+            if (!kept.isEmpty()) {
+                archive.retract(kept);
+            }
+            int removed = batch.size() - kept.size();
+            if (removed == 0) {
+                break;
+            }
+            archived += removed;
+        }
+        return archived;
+    }
+
+    public List<TodoItem> findArchived(LocalDate from, LocalDate to, String owner) throws IOException {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("The range must not span more than " + MAX_RANGE_DAYS + " days");
+        }
+        return archive.find(from, to, owner);
+    }
+}
@@ -0,0 +1,175 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoImportResult;
+import com.todo.app.model.TodoItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class TodoImportService {
+    public static final int BATCH_SIZE = 1000;
+    public static final int MAX_REPORTED_ERRORS = 100;
+    public static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoImportService.class);
+
+    private final TodoService todoService;
+    private final ObjectReader todoReader;
+
+    public TodoImportService(TodoService todoService, JsonMapper jsonMapper) {
+        this.todoService = todoService;
+        this.todoReader = jsonMapper.readerFor(TodoItem.class);
+    }
+
+    public TodoImportResult importTodoItems(InputStream body) throws IOException {
+        Progress progress = new Progress();
+        LineReader reader = new LineReader(body);
+        List<TodoItem> batch = new ArrayList<>(BATCH_SIZE);
+        long[] batchLines = new long[BATCH_SIZE];
+        long length;
+        while ((length = reader.next()) >= 0) {
+            progress.lines++;
+            if (length > MAX_LINE_LENGTH) {
+                progress.fail(progress.lines, "Line exceeds " + MAX_LINE_LENGTH + " bytes");
+                continue;
+            }
+            if (reader.isBlank()) {
+                continue;
+            }
+            try {
+                batchLines[batch.size()] = progress.lines;
+                batch.add(todoReader.readValue(reader.buffer, reader.lineStart, reader.lineEnd - reader.lineStart));
+            } catch (JacksonException e) {
+                progress.fail(progress.lines, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (batch.size() == BATCH_SIZE) {
+                apply(batch, batchLines, progress);
+            }
+        }
+        apply(batch, batchLines, progress);
+        logger.info("Import finished: {} lines, {} imported, {} failed", progress.lines, progress.imported, progress.failed);
+        return new TodoImportResult(progress.lines, progress.imported, progress.failed, progress.errors);
+    }
+
+    private void apply(List<TodoItem> batch, long[] batchLines, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<TodoBatchResult> results = todoService.createTodoItems(batch);
+        for (TodoBatchResult result : results) {
+            if (result.error() == null) {
+                progress.imported++;
+            } else {
+                progress.fail(batchLines[result.index()], result.error());
+            }
+        }
+        batch.clear();
+        if (++progress.batches % 100 == 0) {
+            logger.info("Import progress: {} lines read, {} imported, {} failed", progress.lines, progress.imported, progress.failed);
+        }
+    }
+
+    // Splits the body on '\n' bytes, which never occur inside a multi-byte UTF-8 character, so each line is parsed
+    // straight out of the read buffer: no decoding to chars and no String per line. A malformed line costs only
+    // itself, where a parser running across lines would lose its place for the rest of the body.
+    private static final class LineReader {
+        private final InputStream in;
+        private byte[] buffer = new byte[1 << 16];
+        // Unread bytes are buffer[start, end); the current line is buffer[lineStart, lineEnd).
+        private int start;
+        private int end;
+        private int lineStart;
+        private int lineEnd;
+        private boolean eof;
+
+        private LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        // Moves to the next line and returns its full length, or -1 at the end of the input. Only the first
+        // MAX_LINE_LENGTH bytes of a longer line are kept.
+        private long next() throws IOException {
+            int scanned = start;
+            long dropped = 0;
+            while (true) {
+                for (int i = scanned; i < end; i++) {
+                    if (buffer[i] == '\n') {
+                        return take(i, i + 1, dropped);
+                    }
+                }
+                if (eof) {
+                    return start == end && dropped == 0 ? -1 : take(end, end, dropped);
+                }
+                scanned = end - start;
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                }
+                if (end == buffer.length) {
+                    if (buffer.length <= MAX_LINE_LENGTH) {
+                        buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, MAX_LINE_LENGTH + 1));
+                    } else {
+                        dropped += end;
+                        end = 0;
+                        scanned = 0;
+                    }
+                }
+                int read = in.read(buffer, end, buffer.length - end);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    end += read;
+                }
+            }
+        }
+
+        private long take(int lineEnd, int next, long dropped) {
+            this.lineStart = start;
+            this.lineEnd = lineEnd;
+            this.start = next;
+            long length = dropped + lineEnd - lineStart;
+            if (this.lineEnd > lineStart && buffer[this.lineEnd - 1] == '\r') {
+                this.lineEnd--;
+            }
+            return length;
+        }
+
+        private boolean isBlank() {
+            for (int i = lineStart; i < lineEnd; i++) {
+                byte b = buffer[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Progress {
+        private final List<TodoImportResult.LineError> errors = new ArrayList<>();
+        private long lines;
+        private long imported;
+        private long failed;
+        private long batches;
+
+        private void fail(long line, String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TodoImportResult.LineError(line, error));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serialized JSON per todo, keyed by id and tagged with the item version it was rendered from. Every write bumps
+// the version, so a stale entry is never served even if an invalidation is missed; it is simply re-rendered.
+// Once the cached bytes exceed the budget, a second-chance sweep evicts entries not read since the last sweep.
+@Component
+public class TodoJsonCache {
+    private static final class Rendered {
+        private final long version;
+        private final byte[] json;
+        private volatile boolean referenced;
+
+        private Rendered(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Rendered> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final JsonMapper jsonMapper;
+    private final long maxBytes;
+
+    public TodoJsonCache(JsonMapper jsonMapper, @Value("${todo.json-cache.max-size:64MB}") DataSize maxSize) {
+        this.jsonMapper = jsonMapper;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public byte[] get(TodoItem item) {
+        Rendered entry = entries.get(item.getId());
+        if (entry != null && entry.version == item.getVersion()) {
+            entry.referenced = true;
+            return entry.json;
+        }
+        return put(item);
+    }
+
+    public byte[] put(TodoItem item) {
+        byte[] json = jsonMapper.writeValueAsBytes(item);
+        if (maxBytes == 0 || json.length > maxBytes) {
+            return json;
+        }
+        Rendered rendered = new Rendered(item.getVersion(), json);
+        // Two writers can render the same id concurrently; whichever saw the newer version wins.
+        entries.compute(item.getId(), (id, existing) -> {
+            if (existing != null && existing.version > rendered.version) {
+                return existing;
+            }
+            bytes.addAndGet(json.length - (existing == null ? 0 : existing.json.length));
+            return rendered;
+        });
+        if (bytes.get() > maxBytes) {
+            evict();
+        }
+        return json;
+    }
+
+    public void invalidate(String id) {
+        Rendered removed = entries.remove(id);
+        if (removed != null) {
+            bytes.addAndGet(-removed.json.length);
+        }
+    }
+
+    public void clear() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    long sizeInBytes() {
+        return bytes.get();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long target = maxBytes - maxBytes / 10;
+            for (int pass = 0; pass < 2 && bytes.get() > target; pass++) {
+                Iterator<Map.Entry<String, Rendered>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext() && bytes.get() > target) {
+                    Map.Entry<String, Rendered> candidate = iterator.next();
+                    Rendered entry = candidate.getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else if (entries.remove(candidate.getKey(), entry)) {
+                        bytes.addAndGet(-entry.json.length);
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -1,46 +1,352 @@
 package com.todo.app.service;
 
+import com.todo.app.events.TodoEventPublisher;
 import com.todo.app.repository.TodoRepository;
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoEvent;
 import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoPage;
+import com.todo.app.model.TodoSort;
+import com.todo.app.reminders.ReminderScheduler;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.jspecify.annotations.Nullable;
+import org.owasp.encoder.Encode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class TodoService {
 
+        public static final int MAX_PAGE_SIZE = 1000;
+        public static final int MAX_SEARCH_RESULTS = 100;
+        public static final int MAX_BATCH_SIZE = 10_000;
+
         private final TodoRepository todoRepository;
+        private final Validator validator;
+        private final TodoEventPublisher eventPublisher;
+        private final TodoJsonCache jsonCache;
+        private final ReminderScheduler reminders;
+
+        public TodoService(TodoRepository todoRepository, Validator validator) {
+            this(todoRepository, validator, TodoEventPublisher.NONE, null);
+        }
+
+        public TodoService(TodoRepository todoRepository, Validator validator, TodoEventPublisher eventPublisher,
+                           TodoJsonCache jsonCache) {
+            this(todoRepository, validator, eventPublisher, jsonCache, null);
+        }
 
-        public TodoService(TodoRepository todoRepository) {
+        // Reminders are only scheduled when todo.reminders.enabled is set.
+        @Autowired
+        public TodoService(TodoRepository todoRepository, Validator validator, TodoEventPublisher eventPublisher,
+                           TodoJsonCache jsonCache, @Nullable ReminderScheduler reminders) {
             this.todoRepository = todoRepository;
+            this.validator = validator;
+            this.eventPublisher = eventPublisher;
+            this.jsonCache = jsonCache;
+            this.reminders = reminders;
         }
 
         public List<TodoItem> getAllTodoItems() {
             return todoRepository.findAll();
         }
 
+        public Stream<TodoItem> streamTodoItems() {
+            return todoRepository.stream();
+        }
+
+        public List<TodoItem> getTodoItems(String sort, String filter) {
+            return todoRepository.findSorted(TodoSort.parse(sort), filterOf(filter), null, Integer.MAX_VALUE);
+        }
+
+        public TodoPage getTodoItemPage(String cursor, int limit) {
+            checkLimit(limit);
+            return page(todoRepository.findPage(decodeCursor(cursor), limit + 1), limit, TodoItem::getId);
+        }
+
+        public TodoPage getTodoItemPage(String cursor, int limit, String sort, String filter) {
+            if (sort == null && filter == null) {
+                return getTodoItemPage(cursor, limit);
+            }
+            checkLimit(limit);
+            TodoSort order = TodoSort.parse(sort);
+            return page(todoRepository.findSorted(order, filterOf(filter), decodeCursor(cursor), limit + 1), limit, order::keyOf);
+        }
+
+        public List<TodoItem> getTodoItemsDueBetween(LocalDate from, LocalDate to) {
+            if (from.isAfter(to)) {
+                throw new IllegalArgumentException("dueFrom must not be after dueTo");
+            }
+            return todoRepository.findByCompletionDateBetween(from, to);
+        }
+
+        public List<TodoItem> getOverdueTodoItems() {
+            return todoRepository.findByCompletionDateBefore(LocalDate.now());
+        }
+
+        public List<TodoItem> getTodoItemsDueToday() {
+            LocalDate today = LocalDate.now();
+            return todoRepository.findByCompletionDateBetween(today, today);
+        }
+
+        public List<TodoItem> getTodoItemsByOwner(String owner) {
+            return todoRepository.findByOwner(owner);
+        }
+
+        public List<TodoItem> searchTodoItems(String query, int limit) {
+            if (query == null || query.isBlank()) {
+                throw new IllegalArgumentException("Search query is mandatory");
+            }
+            if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+            }
+            return todoRepository.search(query, limit);
+        }
+
         public Optional<TodoItem> getTodoItemById(String id) {
             return todoRepository.findById(id);
         }
 
+        public String getVersionTag() {
+            return todoRepository.versionTag();
+        }
+
         public TodoItem createTodo(TodoItem todoItem) {
-            return todoRepository.save(todoItem);
+            TodoItem created = todoRepository.save(todoItem);
+            written(TodoEvent.Type.CREATED, created.getId(), created);
+            return created;
+        }
+
+        public List<TodoBatchResult> createTodoItems(List<TodoItem> items) {
+            checkBatchSize(items);
+            TodoBatchResult[] results = new TodoBatchResult[items.size()];
+            List<Integer> accepted = new ArrayList<>(items.size());
+            List<TodoItem> valid = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                TodoItem item = items.get(i);
+                String error = validate(item);
+                if (error != null) {
+                    results[i] = TodoBatchResult.failure(i, HttpStatus.BAD_REQUEST.value(), null, error);
+                    continue;
+                }
+                sanitize(item);
+                accepted.add(i);
+                valid.add(item);
+            }
+            List<TodoItem> saved = todoRepository.saveAll(valid);
+            for (int i = 0; i < saved.size(); i++) {
+                int index = accepted.get(i);
+                if (saved.get(i) == null) {
+                    results[index] = TodoBatchResult.failure(index, HttpStatus.TOO_MANY_REQUESTS.value(), null, "Owner quota exceeded");
+                    continue;
+                }
+                results[index] = TodoBatchResult.success(index, HttpStatus.CREATED.value(), saved.get(i).getId());
+                written(TodoEvent.Type.CREATED, saved.get(i).getId(), saved.get(i));
+            }
+            return List.of(results);
+        }
+
+        public List<TodoBatchResult> updateTodoItems(List<TodoItem> items) {
+            checkBatchSize(items);
+            TodoBatchResult[] results = new TodoBatchResult[items.size()];
+            List<Integer> accepted = new ArrayList<>(items.size());
+            List<TodoItem> valid = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                TodoItem item = items.get(i);
+                String error = item == null || item.getId() == null || item.getId().isBlank() ? "Id is mandatory" : validate(item);
+                if (error != null) {
+                    results[i] = TodoBatchResult.failure(i, HttpStatus.BAD_REQUEST.value(), item == null ? null : item.getId(), error);
+                    continue;
+                }
+                sanitize(item);
+                accepted.add(i);
+                valid.add(item);
+            }
+            List<TodoItem> updated = todoRepository.updateAll(valid);
+            for (int i = 0; i < updated.size(); i++) {
+                int index = accepted.get(i);
+                String id = valid.get(i).getId();
+                results[index] = updated.get(i) != null
+                        ? TodoBatchResult.success(index, HttpStatus.OK.value(), id)
+                        : TodoBatchResult.failure(index, HttpStatus.NOT_FOUND.value(), id, "Todo not found");
+                if (updated.get(i) != null) {
+                    written(TodoEvent.Type.UPDATED, id, updated.get(i));
+                }
+            }
+            return List.of(results);
+        }
+
+        public List<TodoBatchResult> deleteTodoItems(List<String> ids) {
+            checkBatchSize(ids);
+            TodoBatchResult[] results = new TodoBatchResult[ids.size()];
+            List<Integer> accepted = new ArrayList<>(ids.size());
+            List<String> valid = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                String id = ids.get(i);
+                if (id == null || id.isBlank()) {
+                    results[i] = TodoBatchResult.failure(i, HttpStatus.BAD_REQUEST.value(), id, "Id is mandatory");
+                    continue;
+                }
+                accepted.add(i);
+                valid.add(id);
+            }
+            List<Boolean> deleted = todoRepository.deleteAll(valid);
+            for (int i = 0; i < deleted.size(); i++) {
+                int index = accepted.get(i);
+                String id = valid.get(i);
+                results[index] = deleted.get(i)
+                        ? TodoBatchResult.success(index, HttpStatus.NO_CONTENT.value(), id)
+                        : TodoBatchResult.failure(index, HttpStatus.NOT_FOUND.value(), id, "Todo not found");
+                if (deleted.get(i)) {
+                    written(TodoEvent.Type.DELETED, id, null);
+                }
+            }
+            return List.of(results);
         }
 
         public boolean deleteTodoItem(String id) {
-            return todoRepository.delete(id);
+            boolean deleted = todoRepository.delete(id);
+            if (deleted) {
+                written(TodoEvent.Type.DELETED, id, null);
+            }
+            return deleted;
         }
 
         public TodoItem updateTodoItem(String id, TodoItem updatedItem) {
-            return todoRepository.update(id, updatedItem);
+            return writtenUpdate(todoRepository.update(id, updatedItem));
+        }
+
+        public TodoItem updateTodoItem(String id, TodoItem updatedItem, long expectedVersion) {
+            return writtenUpdate(todoRepository.update(id, updatedItem, expectedVersion));
         }
 
         public void clearAll() {
             todoRepository.clear();
+            written(TodoEvent.Type.CLEARED, null, null);
         }
 
         public int count() {
             return todoRepository.count();
         }
+
+        // Archived todos leave the live set like deletes, except that a todo changed since it was copied stays; those
+        // copies are returned.
+        public List<TodoItem> removeArchived(List<TodoItem> archived) {
+            List<Boolean> removed = todoRepository.deleteUnchanged(archived);
+            List<TodoItem> kept = new ArrayList<>();
+            for (int i = 0; i < archived.size(); i++) {
+                if (removed.get(i)) {
+                    written(TodoEvent.Type.ARCHIVED, archived.get(i).getId(), null);
+                } else {
+                    kept.add(archived.get(i));
+                }
+            }
+            return kept;
+        }
+
+        public int countByOwner(String owner) {
+            return todoRepository.countByOwner(owner);
+        }
+
+        // Other owners' todos stay, so subscribers get a delete per todo rather than a CLEARED.
+        public int clearOwner(String owner) {
+            List<String> removed = todoRepository.deleteByOwner(owner);
+            for (String id : removed) {
+                written(TodoEvent.Type.DELETED, id, null);
+            }
+            return removed.size();
+        }
+
+        // Runs after the write returns, so two writers racing on one id can get here out of order; the JSON cache
+        // keeps the higher version and the item version in each event lets subscribers do the same.
+        private void written(TodoEvent.Type type, String id, TodoItem item) {
+            if (jsonCache != null) {
+                switch (type) {
+                    case CREATED, UPDATED -> jsonCache.put(item);
+                    case DELETED, ARCHIVED -> jsonCache.invalidate(id);
+                    case CLEARED -> jsonCache.clear();
+                }
+            }
+            if (reminders != null) {
+                switch (type) {
+                    case CREATED, UPDATED -> reminders.schedule(item);
+                    case DELETED, ARCHIVED -> reminders.cancel(id);
+                    case CLEARED -> reminders.cleared();
+                }
+            }
+            eventPublisher.publish(new TodoEvent(type, id, item));
+        }
+
+        private TodoItem writtenUpdate(TodoItem updated) {
+            if (updated != null) {
+                written(TodoEvent.Type.UPDATED, updated.getId(), updated);
+            }
+            return updated;
+        }
+
+        private static void checkLimit(int limit) {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+            }
+        }
+
+        // One item past the limit is asked for, so whether another page exists is known without a second query.
+        private static TodoPage page(List<TodoItem> items, int limit, Function<TodoItem, String> cursorOf) {
+            if (items.size() <= limit) {
+                return new TodoPage(items, null);
+            }
+            List<TodoItem> page = items.subList(0, limit);
+            return new TodoPage(page, encodeCursor(cursorOf.apply(page.get(limit - 1))));
+        }
+
+        // Titles are stored HTML-encoded, so the filter is encoded the same way before it is matched against them.
+        private static String filterOf(String filter) {
+            return filter == null || filter.isEmpty() ? null : Encode.forHtml(filter);
+        }
+
+        private static void checkBatchSize(List<?> batch) {
+            if (batch.isEmpty() || batch.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+            }
+        }
+
+        private String validate(TodoItem item) {
+            if (item == null) {
+                return "Todo is mandatory";
+            }
+            Set<ConstraintViolation<TodoItem>> violations = validator.validate(item);
+            return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+        }
+
+        private static void sanitize(TodoItem item) {
+            item.setTitle(Encode.forHtml(item.getTitle()));
+            item.setDescription(Encode.forHtml(item.getDescription()));
+        }
+
+        private static String encodeCursor(String id) {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String decodeCursor(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return null;
+            }
+            try {
+                return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
 }
@@ -0,0 +1,225 @@
+package com.todo.app.controller;
+
+import com.todo.app.exeptions.GlobalExceptionHandler;
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.HeapTodoStore;
+import com.todo.app.repository.TimeOrderedIdGenerator;
+import com.todo.app.repository.TodoRepository;
+import com.todo.app.service.ReactiveTodoService;
+import com.todo.app.service.TodoService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveTodoControllerTest {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        TodoService todoService = new TodoService(new TodoRepository(), Validation.buildDefaultValidatorFactory().getValidator());
+        client = WebTestClient.bindToController(new ReactiveTodoController(new ReactiveTodoService(todoService, Schedulers.immediate())))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void createTodoItem_shouldReturnCreatedItem() {
+        client.post().uri("/api/todos").contentType(MediaType.APPLICATION_JSON).bodyValue(json("<b>Title</b>"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").exists()
+                .jsonPath("$.title").isEqualTo("&lt;b&gt;Title&lt;/b&gt;")
+                .jsonPath("$.version").isEqualTo(1);
+    }
+
+    @Test
+    void createTodoItem_shouldRejectBlankTitle() {
+        client.post().uri("/api/todos").contentType(MediaType.APPLICATION_JSON).bodyValue(json(""))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Title is mandatory");
+    }
+
+    @Test
+    void getAllTodoItems_shouldStreamItemsAndHonourEtag() {
+        create("First");
+        create("Second");
+
+        String etag = client.get().uri("/api/todos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TodoItem.class).hasSize(2)
+                .returnResult().getResponseHeaders().getETag();
+
+        client.get().uri("/api/todos").header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void getAllTodoItems_shouldSortAndRejectUnknownFields() {
+        create("Banana");
+        create("apple");
+
+        client.get().uri("/api/todos?sort=title")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("apple")
+                .jsonPath("$[1].title").isEqualTo("Banana");
+        client.get().uri("/api/todos?sort=title,desc&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].title").isEqualTo("Banana")
+                .jsonPath("$.nextCursor").exists();
+        client.get().uri("/api/todos?sort=priority")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getTodoItemById_shouldReturnNotFoundForMissingItem() {
+        client.get().uri("/api/todos/missing-id")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateTodoItem_shouldEnforceIfMatch() {
+        String id = create("Title").getId();
+
+        client.put().uri("/api/todos/" + id).header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON).bodyValue(json("Updated"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+
+        client.put().uri("/api/todos/" + id).header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON).bodyValue(json("Stale"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals("ETag", "\"2\"");
+    }
+
+    @Test
+    void updateTodoItem_shouldReturn412WhenIfMatchNamesAMissingTodo() {
+        client.put().uri("/api/todos/missing").header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON).bodyValue(json("Updated"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void deleteAndCount_shouldReflectChanges() {
+        String id = create("Title").getId();
+
+        client.delete().uri("/api/todos/" + id).exchange().expectStatus().isNoContent();
+        client.delete().uri("/api/todos/" + id).exchange().expectStatus().isNotFound();
+
+        Integer count = client.get().uri("/api/todos/count").exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).returnResult().getResponseBody();
+        assertEquals(0, count);
+    }
+
+    @Test
+    void exportTodoItems_shouldWriteNdjson() {
+        create("First");
+        create("Second");
+
+        String body = client.get().uri("/api/todos/export").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertEquals(2, body.lines().count());
+    }
+
+    @Test
+    void ownerEndpoints_shouldListCountAndClearOneOwnerWithinItsQuota() {
+        TodoService todoService = new TodoService(new TodoRepository(new HeapTodoStore(), null, null, null, new TimeOrderedIdGenerator(), 2),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        WebTestClient limited = WebTestClient.bindToController(new ReactiveTodoController(new ReactiveTodoService(todoService, Schedulers.immediate())))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+        for (String title : new String[]{"One", "Two"}) {
+            limited.post().uri("/api/todos").contentType(MediaType.APPLICATION_JSON).bodyValue(owned("alice", title))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+        limited.post().uri("/api/todos").contentType(MediaType.APPLICATION_JSON).bodyValue(owned("alice", "Three"))
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody()
+                .jsonPath("$.error").exists();
+        limited.post().uri("/api/todos").contentType(MediaType.APPLICATION_JSON).bodyValue(owned("bob", "Other"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        limited.get().uri("/api/todos?owner=alice")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TodoItem.class).hasSize(2);
+        limited.delete().uri("/api/todos/clear?owner=alice").exchange().expectStatus().isNoContent();
+
+        Integer count = limited.get().uri("/api/todos/count?owner=alice").exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).returnResult().getResponseBody();
+        assertEquals(0, count);
+        Integer total = limited.get().uri("/api/todos/count").exchange()
+                .expectBody(Integer.class).returnResult().getResponseBody();
+        assertEquals(1, total);
+    }
+
+    @Test
+    void getAllTodoItems_shouldRejectOwnerCombinedWithOtherListParameters() {
+        client.get().uri("/api/todos?owner=alice&limit=20")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").exists();
+        client.get().uri("/api/todos?owner=alice&filter=completed")
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/todos?owner=alice&dueFrom=01.01.2026&dueTo=31.12.2026")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getTodoItemsDueBetween_shouldRejectHalfARangeOrAPagedRange() {
+        client.get().uri("/api/todos?dueFrom=01.01.2026")
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/todos?dueFrom=01.01.2026&dueTo=31.12.2026&limit=20")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private TodoItem create(String title) {
+        return client.post().uri("/api/todos").contentType(MediaType.APPLICATION_JSON).bodyValue(json(title))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TodoItem.class).returnResult().getResponseBody();
+    }
+
+    private static String json(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Test Description\",\"completionDate\":\""
+                + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+    }
+
+    private static String owned(String owner, String title) {
+        return "{\"owner\":\"" + owner + "\"," + json(title).substring(1);
+    }
+}
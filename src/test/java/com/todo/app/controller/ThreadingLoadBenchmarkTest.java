@@ -0,0 +1,124 @@
+package com.todo.app.controller;
+
+import com.todo.app.TodoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Each request creates a todo and reads it back; with a write-ahead log that fsyncs every commit, the
+// create blocks on disk and the platform pool (200 threads by default) becomes the concurrency limit.
+@Tag("benchmark")
+class ThreadingLoadBenchmarkTest {
+
+    private static final int CONNECTIONS = 2_000;
+    private static final int REQUESTS_PER_CONNECTION = 20;
+    private static final String TODO_JSON = "{\"title\":\"Load test\",\"description\":\"Threading benchmark\",\"completionDate\":\""
+            + LocalDate.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy")) + "\"}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run("platform", "spring.threads.virtual.enabled=false");
+        Result virtual = run("virtual", "spring.threads.virtual.enabled=true");
+
+        System.out.printf("%,d connections x %d create+read requests%n", CONNECTIONS, REQUESTS_PER_CONNECTION);
+        System.out.println(platform.format("platform threads"));
+        System.out.println(virtual.format("virtual threads"));
+    }
+
+    // The reactive stack serves the same load from a handful of event-loop threads, offloading log waits.
+    @Test
+    void servletVersusReactiveStack() throws Exception {
+        Result servlet = run("servlet", "spring.main.web-application-type=servlet");
+        Result reactive = run("reactive", "spring.main.web-application-type=reactive");
+
+        System.out.printf("%,d connections x %d create+read requests%n", CONNECTIONS, REQUESTS_PER_CONNECTION);
+        System.out.println(servlet.format("servlet (MVC)"));
+        System.out.println(reactive.format("reactive (WebFlux)"));
+    }
+
+    private Result run(String name, String... stack) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "todo.wal.enabled=true",
+                        "todo.wal.path=" + directory.resolve(name).resolve("todo.wal"),
+                        "todo.wal.flush-interval=0ms")
+                .properties(stack)
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/todos";
+            load(baseUrl, 1);
+            return load(baseUrl, REQUESTS_PER_CONNECTION);
+        }
+    }
+
+    private static Result load(String baseUrl, int requestsPerConnection) throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<long[]>> connections = new ArrayList<>(CONNECTIONS);
+        long start = System.nanoTime();
+        // The HTTP/1.1 client opens one pooled connection per in-flight request, so each virtual thread holds its own.
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONNECTIONS; c++) {
+                connections.add(clients.submit(() -> {
+                    long[] latencies = new long[requestsPerConnection];
+                    for (int r = 0; r < requestsPerConnection; r++) {
+                        long begin = System.nanoTime();
+                        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(TODO_JSON))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+                        String id = created.body().replaceAll(".*\"id\":\"([^\"]+)\".*", "$1");
+                        HttpResponse<Void> read = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[r] = System.nanoTime() - begin;
+                        if (created.statusCode() != 201 || read.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = new long[CONNECTIONS * requestsPerConnection];
+        int offset = 0;
+        for (Future<long[]> connection : connections) {
+            long[] latencies = connection.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        assertEquals(0, failures.get());
+        Arrays.sort(all);
+        return new Result(all.length, elapsed, all[all.length / 2], all[(int) (all.length * 0.99)]);
+    }
+
+    private record Result(int requests, long elapsedNanos, long p50Nanos, long p99Nanos) {
+        String format(String label) {
+            return String.format("%-18s %,8.0f req/s   p50 %6.1f ms   p99 %6.1f ms",
+                    label, requests * 1e9 / elapsedNanos, p50Nanos / 1e6, p99Nanos / 1e6);
+        }
+    }
+}
@@ -8,12 +8,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -217,4 +221,386 @@ class TodoControllerTest {
         mockMvc.perform(delete("/api/todos/clear"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void getTodoItemPage_shouldReturnPagesLinkedByCursor() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String json = "{\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+        }
+
+        String response = mockMvc.perform(get("/api/todos").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String cursor = new ObjectMapper().readTree(response).get("nextCursor").asText();
+        mockMvc.perform(get("/api/todos").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getAllTodoItems_shouldSortAndFilterOnTheServer() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        for (String title : new String[]{"Buy milk", "Walk dog", "Almond milk"}) {
+            String json = "{\"title\":\"" + title + "\",\"description\":\"Test Description\",\"completionDate\":\"" + date + "\"}";
+            mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+        }
+
+        mockMvc.perform(get("/api/todos").param("sort", "title,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Walk dog"))
+                .andExpect(jsonPath("$[2].title").value("Almond milk"));
+        mockMvc.perform(get("/api/todos").param("sort", "title").param("filter", "MILK"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Almond milk"));
+
+        String response = mockMvc.perform(get("/api/todos").param("sort", "title").param("limit", "2"))
+                .andExpect(jsonPath("$.items[1].title").value("Buy milk"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String cursor = new ObjectMapper().readTree(response).get("nextCursor").asText();
+        mockMvc.perform(get("/api/todos").param("sort", "title").param("limit", "2").param("cursor", cursor))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Walk dog"));
+
+        mockMvc.perform(get("/api/todos").param("sort", "priority"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getTodoItemPage_shouldReturn400WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/todos").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void getTodoItemsDueBetween_shouldReturnItemsInRange() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        LocalDate today = LocalDate.now();
+        String inRange = "{\"title\":\"In Range\",\"description\":\"Test Description\",\"completionDate\":\"" + today.format(DATE_FORMATTER) + "\"}";
+        String outOfRange = "{\"title\":\"Out Of Range\",\"description\":\"Test Description\",\"completionDate\":\"" + today.plusDays(30).format(DATE_FORMATTER) + "\"}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(inRange));
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(outOfRange));
+
+        mockMvc.perform(get("/api/todos")
+                        .param("dueFrom", today.minusDays(1).format(DATE_FORMATTER))
+                        .param("dueTo", today.plusDays(1).format(DATE_FORMATTER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("In Range"));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getOverdueAndDueTodayTodoItems_shouldSplitByToday() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        LocalDate today = LocalDate.now();
+        String overdue = "{\"title\":\"Overdue\",\"description\":\"Test Description\",\"completionDate\":\"" + today.minusDays(2).format(DATE_FORMATTER) + "\"}";
+        String dueToday = "{\"title\":\"Due Today\",\"description\":\"Test Description\",\"completionDate\":\"" + today.format(DATE_FORMATTER) + "\"}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(overdue));
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(dueToday));
+
+        mockMvc.perform(get("/api/todos/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Overdue"));
+
+        mockMvc.perform(get("/api/todos/due-today"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Due Today"));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getTodoItemsDueBetween_shouldReturn400WhenRangeIsInverted() throws Exception {
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(get("/api/todos")
+                        .param("dueFrom", today.format(DATE_FORMATTER))
+                        .param("dueTo", today.minusDays(1).format(DATE_FORMATTER)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTodoItemsDueBetween_shouldReturn400ForHalfARangeOrAPagedRange() throws Exception {
+        String today = LocalDate.now().format(DATE_FORMATTER);
+        mockMvc.perform(get("/api/todos").param("dueFrom", today))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("dueFrom and dueTo must be given together"));
+        mockMvc.perform(get("/api/todos").param("dueTo", today).param("limit", "20"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("dueFrom", today).param("dueTo", today).param("limit", "20"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchTodoItems_shouldMatchSanitizedText() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String json = "{\"title\":\"Salt & pepper\",\"description\":\"Kitchen <shopping>\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+
+        mockMvc.perform(get("/api/todos/search").param("q", "pepper shopping"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(get("/api/todos/search").param("q", "amp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void searchTodoItems_shouldReturn400WhenQueryIsBlank() throws Exception {
+        mockMvc.perform(get("/api/todos/search").param("q", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batchEndpoints_shouldCreateUpdateAndDeleteWithPerItemResults() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        String createJson = "[{\"title\":\"First\",\"description\":\"Test Description\",\"completionDate\":\"" + date + "\"},"
+                + "{\"title\":\"\",\"description\":\"Test Description\",\"completionDate\":\"" + date + "\"}]";
+
+        String response = mockMvc.perform(post("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String id = new ObjectMapper().readTree(response).get(0).get("id").asText();
+
+        String updateJson = "[{\"id\":\"" + id + "\",\"title\":\"Updated\",\"description\":\"Test Description\",\"completionDate\":\"" + date + "\"}]";
+        mockMvc.perform(put("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200));
+        mockMvc.perform(get("/api/todos/" + id))
+                .andExpect(jsonPath("$.title").value("Updated"));
+
+        mockMvc.perform(delete("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + id + "\",\"non-existent-id\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(204))
+                .andExpect(jsonPath("$[1].status").value(404));
+
+        mockMvc.perform(get("/api/todos/count"))
+                .andExpect(content().string("0"));
+    }
+
+    @Test
+    void exportTodoItems_shouldStreamOneJsonObjectPerLine() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String json = "{\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+
+        MvcResult result = mockMvc.perform(get("/api/todos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals("Test Title", objectMapper.readTree(line).get("title").asText());
+            assertEquals(LocalDate.now().format(DATE_FORMATTER), objectMapper.readTree(line).get("completionDate").asText());
+        }
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void importTodoItems_shouldCreateValidLinesAndReportFailures() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        String body = "{\"title\":\"First\",\"description\":\"Imported\",\"completionDate\":\"" + date + "\"}\n"
+                + "not json\n"
+                + "{\"title\":\"Second\",\"description\":\"Imported\",\"completionDate\":\"" + date + "\"}\n";
+
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        mockMvc.perform(get("/api/todos/count"))
+                .andExpect(content().string("2"));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getTodoItemById_shouldAnswer304WhenETagMatches() throws Exception {
+        String json = "{\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        String response = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andReturn().getResponse().getContentAsString();
+        String id = new ObjectMapper().readTree(response).get("id").asText();
+
+        String etag = mockMvc.perform(get("/api/todos/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/todos/" + id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/todos/" + id).contentType(MediaType.APPLICATION_JSON).content(json));
+        mockMvc.perform(get("/api/todos/" + id).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.version").value(2));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getAllTodoItems_shouldAnswer304UntilTheStoreChanges() throws Exception {
+        String json = "{\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+
+        String etag = mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/todos").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json));
+        mockMvc.perform(get("/api/todos").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void updateTodoItem_shouldReturn412WhenIfMatchNamesAMissingTodo() throws Exception {
+        String json = "{\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+
+        mockMvc.perform(put("/api/todos/missing").header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/todos/missing").header("If-Match", "*").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTodoItem_shouldHonourIfMatch() throws Exception {
+        String json = "{\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        String response = mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andReturn().getResponse().getContentAsString();
+        String id = new ObjectMapper().readTree(response).get("id").asText();
+
+        mockMvc.perform(put("/api/todos/" + id).header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+
+        mockMvc.perform(put("/api/todos/" + id).header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.error").exists());
+
+        mockMvc.perform(put("/api/todos/" + id).header("If-Match", "W/\"2\"").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/todos/" + id).header("If-Match", "*").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void ownerEndpoints_shouldListCountAndClearOnlyThatOwner() throws Exception {
+        mockMvc.perform(delete("/api/todos/clear"));
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        for (String owner : new String[]{"alice", "alice", "bob"}) {
+            String json = "{\"owner\":\"" + owner + "\",\"title\":\"Test Title\",\"description\":\"Test Description\",\"completionDate\":\"" + date + "\"}";
+            mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.owner").value(owner));
+        }
+
+        mockMvc.perform(get("/api/todos").param("owner", "alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].owner").value("alice"));
+        mockMvc.perform(get("/api/todos/count").param("owner", "alice"))
+                .andExpect(content().string("2"));
+
+        mockMvc.perform(delete("/api/todos/clear").param("owner", "alice"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/todos/count").param("owner", "alice"))
+                .andExpect(content().string("0"));
+        mockMvc.perform(get("/api/todos/count"))
+                .andExpect(content().string("1"));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
+
+    @Test
+    void getAllTodoItems_shouldRejectOwnerCombinedWithOtherListParameters() throws Exception {
+        mockMvc.perform(get("/api/todos").param("owner", "alice").param("limit", "20"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        mockMvc.perform(get("/api/todos").param("owner", "alice").param("sort", "title"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("owner", "alice").param("dueFrom", "01.01.2026").param("dueTo", "31.12.2026"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamTodoEvents_shouldPushChangesToSubscribers() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/todos/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String json = "{\"title\":\"Streamed\",\"description\":\"Test Description\",\"completionDate\":\"" + LocalDate.now().format(DATE_FORMATTER) + "\"}";
+        mockMvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!stream.getResponse().getContentAsString().contains("event:created") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String events = stream.getResponse().getContentAsString();
+        assertTrue(events.contains("event:created"));
+        assertTrue(events.contains("Streamed"));
+
+        mockMvc.perform(delete("/api/todos/clear"));
+    }
 }
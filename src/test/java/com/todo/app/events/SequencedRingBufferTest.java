@@ -0,0 +1,63 @@
+package com.todo.app.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequencedRingBufferTest {
+
+    @Test
+    void shouldReturnPublishedValuesBySequence() {
+        SequencedRingBuffer<String> ring = new SequencedRingBuffer<>(4);
+
+        assertEquals(1, ring.publish(sequence -> "a" + sequence));
+        assertEquals(2, ring.publish(sequence -> "b" + sequence));
+
+        assertEquals("a1", ring.get(1));
+        assertEquals("b2", ring.get(2));
+        assertNull(ring.get(3));
+        assertFalse(ring.overrun(3));
+        assertEquals(2, ring.head());
+    }
+
+    @Test
+    void shouldReportOverwrittenSequences() {
+        SequencedRingBuffer<Long> ring = new SequencedRingBuffer<>(4);
+        for (int i = 0; i < 6; i++) {
+            ring.publish(sequence -> sequence);
+        }
+
+        assertNull(ring.get(2));
+        assertTrue(ring.overrun(2));
+        assertEquals(3L, ring.get(3));
+        assertFalse(ring.overrun(3));
+        assertEquals(6L, ring.get(6));
+    }
+
+    @Test
+    void shouldRejectCapacityThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new SequencedRingBuffer<String>(3));
+    }
+
+    @Test
+    void shouldHandOutEachSequenceOnceAcrossWriters() throws InterruptedException {
+        SequencedRingBuffer<Long> ring = new SequencedRingBuffer<>(1 << 16);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        ring.publish(sequence -> sequence);
+                    }
+                });
+            }
+        }
+
+        assertEquals(40_000, ring.head());
+        for (long sequence = 1; sequence <= 40_000; sequence++) {
+            assertEquals(sequence, ring.get(sequence));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.todo.app.events;
+
+import com.todo.app.model.TodoEvent;
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoEventFeedTest {
+
+    private final TodoEventFeed feed = new TodoEventFeed(JsonMapper.builder().build(), 4, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    void shouldPushEventsToSubscribers() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        feed.subscribe(null, emitter);
+
+        feed.publish(new TodoEvent(TodoEvent.Type.CREATED, "id-1", item("id-1")));
+        feed.publish(new TodoEvent(TodoEvent.Type.DELETED, "id-1", null));
+
+        await(() -> emitter.events.size() == 2);
+        assertTrue(emitter.events.get(0).contains("event:created"));
+        assertTrue(emitter.events.get(0).contains("\"title\":\"Title id-1\""));
+        assertTrue(emitter.events.get(1).contains("event:deleted"));
+    }
+
+    @Test
+    void shouldResumeAfterLastEventId() {
+        CapturingEmitter first = new CapturingEmitter();
+        feed.subscribe(null, first);
+        for (int i = 1; i <= 3; i++) {
+            feed.publish(new TodoEvent(TodoEvent.Type.CREATED, "id-" + i, item("id-" + i)));
+        }
+        await(() -> first.events.size() == 3);
+
+        CapturingEmitter resumed = new CapturingEmitter();
+        feed.subscribe(first.id(0), resumed);
+
+        await(() -> resumed.events.size() == 2);
+        assertEquals(first.id(1), resumed.id(0));
+        assertEquals(first.id(2), resumed.id(1));
+    }
+
+    @Test
+    void shouldAskForResetWhenTheResumePointIsGone() {
+        CapturingEmitter first = new CapturingEmitter();
+        feed.subscribe(null, first);
+        feed.publish(new TodoEvent(TodoEvent.Type.CREATED, "id-0", item("id-0")));
+        await(() -> first.events.size() == 1);
+        for (int i = 1; i <= 8; i++) {
+            feed.publish(new TodoEvent(TodoEvent.Type.CREATED, "id-" + i, item("id-" + i)));
+        }
+
+        CapturingEmitter stale = new CapturingEmitter();
+        feed.subscribe(first.id(0), stale);
+        CapturingEmitter unknown = new CapturingEmitter();
+        feed.subscribe("other-epoch-3", unknown);
+
+        assertTrue(stale.events.get(0).contains("event:" + TodoEventFeed.RESET));
+        assertTrue(unknown.events.get(0).contains("event:" + TodoEventFeed.RESET));
+    }
+
+    @Test
+    void shouldDropASubscriberThatFallsAFullBufferBehind() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter(release);
+        CapturingEmitter fast = new CapturingEmitter();
+        feed.subscribe(null, slow);
+        feed.subscribe(null, fast);
+
+        for (int i = 0; i < 20; i++) {
+            feed.publish(new TodoEvent(TodoEvent.Type.CREATED, "id-" + i, item("id-" + i)));
+            int published = i + 1;
+            await(() -> fast.events.size() == published);
+        }
+        release.countDown();
+
+        await(() -> slow.completed);
+        await(() -> feed.subscriberCount() == 1);
+        assertFalse(fast.completed);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static TodoItem item(String id) {
+        TodoItem item = new TodoItem("Title " + id, "Test Description", LocalDate.now());
+        item.setId(id);
+        item.setVersion(1);
+        return item;
+    }
+
+    private static final class CapturingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+        private volatile boolean completed;
+
+        private CapturingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private CapturingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            events.add(builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private String id(int index) {
+            String event = events.get(index);
+            int start = event.indexOf("id:") + 3;
+            return event.substring(start, event.indexOf('\n', start));
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.web.context.WebApplicationContext;
 import java.time.LocalDate;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -71,4 +72,24 @@ class GlobalExceptionHandlerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").isNotEmpty());
     }
+
+    @Test
+    void handleVersionConflict_shouldReturn412WithCurrentETag() throws Exception {
+        String json = "{\"title\":\"Test Title\", \"description\":\"Test Description\", \"completionDate\":\"23.02.2026\"}";
+        String response = mockMvc.perform(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String id = new ObjectMapper().readTree(response).get("id").asText();
+
+        mockMvc.perform(put("/api/todos/" + id)
+                        .header("If-Match", "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+    }
 }
@@ -0,0 +1,62 @@
+package com.todo.app.jfr;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.TodoRepository;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowOperationAnalyzerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSummariseRepositoryEventsByOperation() throws IOException {
+        Path file = directory.resolve("todo.jfr");
+        TodoRepository repository = new TodoRepository();
+        try (Recording recording = new Recording()) {
+            recording.enable(RepositoryOperationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            TodoItem item = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+            repository.findById(item.getId());
+            repository.findById(item.getId());
+            repository.delete(item.getId());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<SlowOperationAnalyzer.Summary> summaries = SlowOperationAnalyzer.summarize(file, Duration.ZERO);
+
+        SlowOperationAnalyzer.Summary findById = summaries.stream()
+                .filter(summary -> summary.operation().equals("repository findById"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, findById.count());
+        assertTrue(summaries.stream().anyMatch(summary -> summary.operation().equals("repository save")));
+        assertTrue(summaries.stream().anyMatch(summary -> summary.operation().equals("repository delete")));
+    }
+
+    @Test
+    void shouldDropEventsBelowThreshold() throws IOException {
+        Path file = directory.resolve("todo.jfr");
+        TodoRepository repository = new TodoRepository();
+        try (Recording recording = new Recording()) {
+            recording.enable(RepositoryOperationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            repository.count();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertTrue(SlowOperationAnalyzer.summarize(file, Duration.ofHours(1)).isEmpty());
+    }
+}
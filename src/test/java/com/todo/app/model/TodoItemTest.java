@@ -20,11 +20,11 @@ class TodoItemTest {
     }
 
     @Test
-    void shouldCreateWithUUID() {
+    void shouldCreateWithoutIdUntilSaved() {
         TodoItem item = new TodoItem("Test Title",
                 "Test Description",
                             LocalDate.now());
-        assertNotNull(item.getId());
+        assertNull(item.getId());
         assertEquals("Test Title", item.getTitle());
         assertEquals("Test Description", item.getDescription());
         assertEquals(LocalDate.now(), item.getCompletionDate());
@@ -69,7 +69,8 @@ class TodoItemTest {
     @Test
     void shouldGetId() {
         TodoItem item = new TodoItem("Test Title", "Test Description", LocalDate.now());
-        assertNotNull(item.getId());
+        item.setId("id-1");
+        assertEquals("id-1", item.getId());
     }
 
     @Test
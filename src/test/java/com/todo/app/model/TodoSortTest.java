@@ -0,0 +1,37 @@
+package com.todo.app.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSortTest {
+
+    @Test
+    void shouldParseFieldAndDirection() {
+        assertEquals(TodoSort.CREATED, TodoSort.parse(null));
+        assertEquals(new TodoSort(TodoSort.Field.TITLE, false), TodoSort.parse("title"));
+        assertEquals(new TodoSort(TodoSort.Field.TITLE, false), TodoSort.parse("title,asc"));
+        assertEquals(new TodoSort(TodoSort.Field.COMPLETION_DATE, true), TodoSort.parse("completionDate,DESC"));
+    }
+
+    @Test
+    void shouldRejectUnknownFieldsAndDirections() {
+        assertThrows(IllegalArgumentException.class, () -> TodoSort.parse("owner"));
+        assertThrows(IllegalArgumentException.class, () -> TodoSort.parse("title,up"));
+        assertThrows(IllegalArgumentException.class, () -> TodoSort.parse("title,asc,desc"));
+    }
+
+    @Test
+    void shouldKeyItemsByIdAndSortValue() {
+        TodoItem item = new TodoItem("Title with spaces", "Test Description", LocalDate.of(2026, 2, 23));
+        item.setId("id");
+
+        assertEquals("id", TodoSort.CREATED.keyOf(item));
+        assertEquals("id Title with spaces", TodoSort.parse("title").keyOf(item));
+        assertEquals("id 2026-02-23", TodoSort.parse("completionDate").keyOf(item));
+        item.setCompletionDate(null);
+        assertEquals("id ", TodoSort.parse("completionDate").keyOf(item));
+    }
+}
@@ -0,0 +1,71 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.TimeOrderedIdGenerator;
+import com.todo.app.repository.TodoRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class RecoveryBenchmarkTest {
+
+    private static final int TODOS = 1_000_000;
+    private static final int TAIL = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void startupFromSnapshotVersusFullLog() throws IOException {
+        Path snapshotWal = directory.resolve("snapshot/todo.wal");
+        Path fullWal = directory.resolve("full/todo.wal");
+        SnapshotStore snapshots = new SnapshotStore(directory.resolve("snapshot/todo.snapshot"));
+
+        try (WriteAheadLog log = new WriteAheadLog(snapshotWal, Duration.ZERO)) {
+            appendHistory(log, TODOS);
+            TodoRepository repository = new TodoRepository(log, snapshots);
+            repository.writeSnapshot();
+            appendHistory(log, TAIL);
+        }
+        try (WriteAheadLog log = new WriteAheadLog(fullWal, Duration.ZERO)) {
+            appendHistory(log, TODOS + TAIL);
+        }
+
+        long fromSnapshot = timeRecovery(snapshotWal, snapshots);
+        long fromFullLog = timeRecovery(fullWal, null);
+
+        System.out.printf("recovery of %,d todos: snapshot + %,d-entry tail %d ms, full log %d ms%n",
+                TODOS + TAIL, TAIL, fromSnapshot, fromFullLog);
+    }
+
+    private static long timeRecovery(Path walPath, SnapshotStore snapshots) throws IOException {
+        System.gc();
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            long start = System.nanoTime();
+            TodoRepository repository = new TodoRepository(log, snapshots);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(TODOS + TAIL, repository.count());
+            return elapsed;
+        }
+    }
+
+    private static void appendHistory(WriteAheadLog log, int count) {
+        TimeOrderedIdGenerator ids = new TimeOrderedIdGenerator();
+        CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < count; i++) {
+            TodoItem item = new TodoItem("Benchmark todo " + i, "Recovery benchmark description " + i, LocalDate.now().plusDays(i % 365));
+            item.setId(ids.nextId());
+            last = log.append(WriteAheadLog.Operation.SAVE, item.getId(), item);
+        }
+        last.join();
+    }
+}
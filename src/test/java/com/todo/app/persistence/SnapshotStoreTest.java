@@ -0,0 +1,142 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReturnZeroWhenNoSnapshotExists() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("todo.snapshot"));
+
+        assertEquals(0, store.load(item -> fail("unexpected item")));
+    }
+
+    @Test
+    void shouldRoundTripItemsAndCoveredSegment() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("todo.snapshot"));
+        TodoItem first = new TodoItem("First", "Ünïcödé description", LocalDate.of(2026, 2, 23));
+        first.setId("first");
+        TodoItem second = new TodoItem("Second", "Test Description", null);
+        second.setId("second");
+
+        assertEquals(2, store.write(7, List.of(first, second).iterator()));
+
+        List<TodoItem> loaded = new ArrayList<>();
+        assertEquals(7, store.load(loaded::add));
+        assertEquals(2, loaded.size());
+        assertEquals("first", loaded.get(0).getId());
+        assertEquals("Ünïcödé description", loaded.get(0).getDescription());
+        assertEquals(LocalDate.of(2026, 2, 23), loaded.get(0).getCompletionDate());
+        assertNull(loaded.get(1).getCompletionDate());
+    }
+
+    @Test
+    void shouldRoundTripTheOwner() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("todo.snapshot"));
+        TodoItem owned = new TodoItem("Owned", "Test Description", LocalDate.of(2026, 2, 23));
+        owned.setId("owned");
+        owned.setOwner("ålice");
+        TodoItem shared = new TodoItem("Shared", "Test Description", LocalDate.of(2026, 2, 23));
+        shared.setId("shared");
+
+        store.write(1, List.of(owned, shared).iterator());
+
+        List<TodoItem> loaded = new ArrayList<>();
+        store.load(loaded::add);
+        assertEquals("ålice", loaded.get(0).getOwner());
+        assertNull(loaded.get(1).getOwner());
+    }
+
+    // Snapshots written before todos had owners end each record at the version.
+    @Test
+    void shouldLoadRecordsWrittenWithoutAnOwner() throws IOException {
+        Path path = directory.resolve("todo.snapshot");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(0x54444f53);
+            out.writeInt(2);
+            out.writeLong(3);
+            byte[] id = "old".getBytes();
+            byte[] title = "Old".getBytes();
+            byte[] description = "Before owners".getBytes();
+            out.writeInt(3 * Integer.BYTES + id.length + title.length + description.length + 2 * Long.BYTES);
+            out.writeInt(id.length);
+            out.write(id);
+            out.writeInt(title.length);
+            out.write(title);
+            out.writeInt(description.length);
+            out.write(description);
+            out.writeLong(LocalDate.of(2026, 2, 23).toEpochDay());
+            out.writeLong(4);
+            out.writeInt(-1);
+        }
+
+        List<TodoItem> loaded = new ArrayList<>();
+        assertEquals(3, new SnapshotStore(path).load(loaded::add));
+        assertEquals("Before owners", loaded.get(0).getDescription());
+        assertEquals(4, loaded.get(0).getVersion());
+        assertNull(loaded.get(0).getOwner());
+    }
+
+    // Format 1 snapshots predate versions and end each record at the completion date.
+    @Test
+    void shouldLoadFormatOneSnapshotsAsVersionOne() throws IOException {
+        Path path = directory.resolve("todo.snapshot");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(0x54444f53);
+            out.writeInt(1);
+            out.writeLong(5);
+            byte[] id = "older".getBytes();
+            byte[] title = "Older".getBytes();
+            out.writeInt(3 * Integer.BYTES + id.length + title.length + Long.BYTES);
+            out.writeInt(id.length);
+            out.write(id);
+            out.writeInt(title.length);
+            out.write(title);
+            out.writeInt(-1);
+            out.writeLong(LocalDate.of(2026, 2, 23).toEpochDay());
+            out.writeInt(-1);
+        }
+
+        List<TodoItem> loaded = new ArrayList<>();
+        assertEquals(5, new SnapshotStore(path).load(loaded::add));
+        assertEquals("older", loaded.get(0).getId());
+        assertNull(loaded.get(0).getDescription());
+        assertEquals(LocalDate.of(2026, 2, 23), loaded.get(0).getCompletionDate());
+        assertEquals(1, loaded.get(0).getVersion());
+        assertNull(loaded.get(0).getOwner());
+    }
+
+    @Test
+    void shouldReplaceSnapshotAtomically() throws IOException {
+        Path path = directory.resolve("todo.snapshot");
+        SnapshotStore store = new SnapshotStore(path);
+        store.write(1, List.<TodoItem>of().iterator());
+        store.write(2, List.<TodoItem>of().iterator());
+
+        assertEquals(2, store.load(item -> fail("unexpected item")));
+        assertFalse(Files.exists(directory.resolve("todo.snapshot.tmp")));
+    }
+
+    @Test
+    void shouldRejectForeignFile() throws IOException {
+        Path path = directory.resolve("todo.snapshot");
+        Files.writeString(path, "definitely not a snapshot");
+
+        assertThrows(IOException.class, () -> new SnapshotStore(path).load(item -> { }));
+    }
+}
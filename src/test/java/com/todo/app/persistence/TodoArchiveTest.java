@@ -0,0 +1,113 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 23);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldFindArchivedItemsByDateRange() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+        archive.append(List.of(item("first", DAY, 1), item("second", DAY.plusDays(2), 1), item("third", DAY.plusDays(5), 1)));
+
+        List<TodoItem> found = archive.find(DAY, DAY.plusDays(2), null);
+
+        assertEquals(List.of("first", "second"), found.stream().map(TodoItem::getId).toList());
+        assertEquals("Ünïcödé description", found.get(0).getDescription());
+        assertEquals(DAY.plusDays(2), found.get(1).getCompletionDate());
+        assertTrue(archive.find(DAY.plusDays(6), DAY.plusDays(9), null).isEmpty());
+    }
+
+    @Test
+    void shouldFilterByOwner() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+        TodoItem owned = item("owned", DAY, 1);
+        owned.setOwner("alice");
+        archive.append(List.of(owned, item("shared", DAY, 1)));
+
+        assertEquals(List.of("owned"), archive.find(DAY, DAY, "alice").stream().map(TodoItem::getId).toList());
+        assertEquals(2, archive.find(DAY, DAY, null).size());
+    }
+
+    @Test
+    void shouldReturnAnItemArchivedTwiceOnceAtItsHighestVersion() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+        archive.append(List.of(item("first", DAY, 3)));
+        archive.append(List.of(item("first", DAY, 1)));
+
+        List<TodoItem> found = archive.find(DAY, DAY, null);
+
+        assertEquals(1, found.size());
+        assertEquals(3, found.get(0).getVersion());
+    }
+
+    @Test
+    void shouldSkipAndThenOverwriteACutOffFrame() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+        archive.append(List.of(item("first", DAY, 1)));
+        Path file = directory.resolve(DAY + ".archive");
+        long complete = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+
+        assertEquals(List.of("first"), archive.find(DAY, DAY, null).stream().map(TodoItem::getId).toList());
+
+        archive.append(List.of(item("second", DAY, 1)));
+
+        assertEquals(List.of("first", "second"), archive.find(DAY, DAY, null).stream().map(TodoItem::getId).toList());
+        assertTrue(Files.size(file) > complete);
+    }
+
+    @Test
+    void shouldTreatAFrameLengthPastTheEndAsCutOff() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+        archive.append(List.of(item("first", DAY, 1)));
+        Path file = directory.resolve(DAY + ".archive");
+        Files.write(file, new byte[]{0x7f, -1, -1, -1, 42, 42}, StandardOpenOption.APPEND);
+
+        assertEquals(List.of("first"), archive.find(DAY, DAY, null).stream().map(TodoItem::getId).toList());
+    }
+
+    @Test
+    void shouldHideARetractedCopyButNotALaterVersion() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+        archive.append(List.of(item("first", DAY, 1), item("second", DAY, 1)));
+        archive.retract(List.of(item("first", DAY, 1)));
+
+        assertEquals(List.of("second"), archive.find(DAY, DAY, null).stream().map(TodoItem::getId).toList());
+
+        archive.append(List.of(item("first", DAY, 2)));
+
+        List<TodoItem> found = archive.find(DAY, DAY, null);
+        assertEquals(List.of("first", "second"), found.stream().map(TodoItem::getId).toList());
+        assertEquals(2, found.get(0).getVersion());
+    }
+
+    @Test
+    void shouldRejectUndatedItems() throws IOException {
+        TodoArchive archive = new TodoArchive(directory);
+
+        assertThrows(NullPointerException.class, () -> archive.append(List.of(item("undated", null, 1))));
+    }
+
+    private static TodoItem item(String id, LocalDate date, long version) {
+        TodoItem item = new TodoItem("Title " + id, "Ünïcödé description", date);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}
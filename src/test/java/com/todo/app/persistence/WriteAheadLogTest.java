@@ -0,0 +1,398 @@
+package com.todo.app.persistence;
+
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayAppendedEntriesInOrder() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        TodoItem item = new TodoItem("Test", "Test Description", LocalDate.of(2026, 2, 23));
+        item.setId("item-1");
+
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.SAVE, item.getId(), item).join();
+            log.append(WriteAheadLog.Operation.DELETE, item.getId(), null).join();
+            log.append(WriteAheadLog.Operation.CLEAR, null, null).join();
+        }
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+        }
+
+        assertEquals(3, entries.size());
+        assertEquals(WriteAheadLog.Operation.SAVE, entries.get(0).operation());
+        assertEquals("item-1", entries.get(0).item().getId());
+        assertEquals("Test", entries.get(0).item().getTitle());
+        assertEquals(LocalDate.of(2026, 2, 23), entries.get(0).item().getCompletionDate());
+        assertEquals(WriteAheadLog.Operation.DELETE, entries.get(1).operation());
+        assertNull(entries.get(1).item());
+        assertEquals(WriteAheadLog.Operation.CLEAR, entries.get(2).operation());
+    }
+
+    @Test
+    void shouldDropTornTailAndKeepAppending() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.DELETE, "kept", null).join();
+            log.append(WriteAheadLog.Operation.DELETE, "torn", null).join();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+            log.append(WriteAheadLog.Operation.DELETE, "after", null).join();
+        }
+        assertEquals(List.of("kept"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+
+        entries.clear();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+        }
+        assertEquals(List.of("kept", "after"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+    }
+
+    @Test
+    void shouldShareOneSyncAcrossConcurrentWriters() throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("todo.wal"), Duration.ofMillis(20))) {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                writes.add(log.append(WriteAheadLog.Operation.DELETE, "id-" + i, null));
+            }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            assertTrue(log.syncCount() < 100);
+        }
+    }
+
+    @Test
+    void shouldRejectAppendsAfterClose() throws IOException {
+        WriteAheadLog log = new WriteAheadLog(directory.resolve("todo.wal"), Duration.ZERO);
+        log.close();
+
+        assertThrows(IllegalStateException.class, () -> log.append(WriteAheadLog.Operation.CLEAR, null, null));
+    }
+
+    @Test
+    void shouldCutOffAFailedSyncAndRefuseFurtherWrites() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        AtomicBoolean failing = new AtomicBoolean();
+        long synced;
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO, Thread.ofPlatform().daemon(true),
+                file -> new FailingChannel(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE), failing))) {
+            log.append(WriteAheadLog.Operation.DELETE, "synced", null).join();
+            synced = Files.size(path);
+            failing.set(true);
+
+            assertThrows(CompletionException.class, () -> log.append(WriteAheadLog.Operation.DELETE, "failed", null).join());
+            failing.set(false);
+            assertThrows(UncheckedIOException.class, () -> log.append(WriteAheadLog.Operation.DELETE, "refused", null));
+            assertThrows(UncheckedIOException.class, log::rotate);
+        }
+
+        assertEquals(synced, Files.size(path));
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+        }
+        assertEquals(List.of("synced"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+    }
+
+    @Test
+    void shouldTreatALengthPastTheEndAsATornTail() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.DELETE, "kept", null).join();
+        }
+        Files.write(path, ByteBuffer.allocate(12).putInt(Integer.MAX_VALUE - 8).putInt(0).putInt(0).array(), StandardOpenOption.APPEND);
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+        }
+        assertEquals(List.of("kept"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+    }
+
+    // Logs written before todos had versions end SAVE and UPDATE records at the completion date.
+    @Test
+    void shouldReplayRecordsWrittenBeforeVersionsAsVersionOne() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeByte(WriteAheadLog.Operation.SAVE.ordinal());
+            TodoRecordCodec.writeString(out, "old");
+            TodoRecordCodec.writeString(out, "old");
+            TodoRecordCodec.writeString(out, "Old");
+            TodoRecordCodec.writeString(out, "Before versions");
+            out.writeLong(LocalDate.of(2026, 2, 23).toEpochDay());
+        }
+        Files.write(path, record(payload.toByteArray()));
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.DELETE, "after", null).join();
+        }
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+        }
+        assertEquals(List.of("old", "after"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+        assertEquals("Before versions", entries.get(0).item().getDescription());
+        assertEquals(1, entries.get(0).item().getVersion());
+    }
+
+    @Test
+    void shouldRefuseToReplayPastARecordThatDoesNotDecode() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.DELETE, "before", null).join();
+        }
+        Files.write(path, record(new byte[] { (byte) WriteAheadLog.Operation.SAVE.ordinal(), 0, 0 }), StandardOpenOption.APPEND);
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.DELETE, "after", null).join();
+        }
+        long size = Files.size(path);
+
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            assertThrows(IOException.class, () -> log.replay(entry -> { }));
+        }
+        assertEquals(size, Files.size(path));
+    }
+
+    @Test
+    void shouldCompleteEveryAppendRacingClose() throws Exception {
+        WriteAheadLog log = new WriteAheadLog(directory.resolve("todo.wal"), Duration.ZERO);
+        Queue<CompletableFuture<Void>> writes = new ConcurrentLinkedQueue<>();
+        CountDownLatch started = new CountDownLatch(4);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            for (int t = 0; t < 4; t++) {
+                writers.execute(() -> {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            writes.add(log.append(WriteAheadLog.Operation.DELETE, "id", null));
+                        }
+                    } catch (IllegalStateException closed) {
+                        // Refused outright, which is what a write arriving after close should get.
+                    }
+                });
+            }
+            started.await();
+            log.close();
+        } finally {
+            writers.shutdown();
+            assertTrue(writers.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertFalse(writes.isEmpty());
+        assertTrue(writes.stream().allMatch(CompletableFuture::isDone));
+    }
+
+    @Test
+    void shouldReplayOnlySegmentsAfterTheCoveredOne() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.append(WriteAheadLog.Operation.DELETE, "first", null).join();
+            assertEquals(1L, log.rotate().join());
+            log.append(WriteAheadLog.Operation.DELETE, "second", null).join();
+            assertEquals(2L, log.rotate().join());
+            log.append(WriteAheadLog.Operation.DELETE, "active", null).join();
+        }
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+            assertEquals(List.of("first", "second", "active"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+
+            entries.clear();
+            log.replay(1, entries::add);
+            assertEquals(List.of("second", "active"), entries.stream().map(WriteAheadLog.Entry::id).toList());
+
+            log.deleteSegmentsThrough(1);
+            assertFalse(Files.exists(directory.resolve("todo.wal.1")));
+            assertTrue(Files.exists(directory.resolve("todo.wal.2")));
+            assertEquals(3L, log.rotate().join());
+        }
+    }
+
+    @Test
+    void shouldNumberSegmentsPastTheCoveredOneWhenNoneAreLeft() throws IOException {
+        Path path = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            assertEquals(1L, log.rotate().join());
+            assertEquals(2L, log.rotate().join());
+            log.deleteSegmentsThrough(2);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(2, entry -> fail("unexpected entry"));
+            assertEquals(3L, log.rotate().join());
+        }
+    }
+
+    @Test
+    void shouldFlushFromVirtualThread() throws IOException, InterruptedException {
+        Path path = directory.resolve("todo.wal");
+        TodoItem item = new TodoItem("Test", "Test Description", LocalDate.of(2026, 2, 23));
+        item.setId("item-1");
+
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO, Thread.ofVirtual())) {
+            Thread caller = Thread.ofVirtual().unstarted(() -> log.append(WriteAheadLog.Operation.SAVE, item.getId(), item).join());
+            caller.start();
+            caller.join();
+        }
+
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            log.replay(entries::add);
+        }
+        assertEquals(1, entries.size());
+        assertEquals(item.getId(), entries.get(0).id());
+    }
+
+    private static byte[] record(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(8 + payload.length).putInt(payload.length).putInt((int) crc.getValue()).put(payload).array();
+    }
+
+    private static final class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final AtomicBoolean failing;
+
+        private FailingChannel(FileChannel delegate, AtomicBoolean failing) {
+            this.delegate = delegate;
+            this.failing = failing;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failing.get()) {
+                throw new IOException("Simulated fsync failure");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.todo.app.reminders;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    private final MutableClock clock = new MutableClock(TODAY.atStartOfDay(ZoneOffset.UTC).plusHours(1).toInstant());
+    private final TodoRepository repository = new TodoRepository();
+    private final List<List<TodoItem>> delivered = new CopyOnWriteArrayList<>();
+    private final List<ReminderScheduler> schedulers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        schedulers.forEach(ReminderScheduler::close);
+    }
+
+    @Test
+    void shouldRemindAboutTodosAlreadyStoredWhenStarted() {
+        TodoItem tomorrow = repository.save(new TodoItem("Tomorrow", "Test Description", TODAY.plusDays(1)));
+        repository.save(new TodoItem("Next week", "Test Description", TODAY.plusDays(7)));
+        repository.save(new TodoItem("Overdue", "Test Description", TODAY.minusDays(1)));
+
+        scheduler(delivered::add, 100, 1);
+
+        await(() -> delivered.size() == 1);
+        assertEquals(List.of(tomorrow.getId()), ids(delivered.get(0)));
+    }
+
+    @Test
+    void shouldRemindLeadTimeBeforeTheCompletionDate() throws InterruptedException {
+        ReminderScheduler scheduler = scheduler(delivered::add, 100, 1);
+        TodoItem due = repository.save(new TodoItem("Due", "Test Description", TODAY.plusDays(3)));
+        scheduler.schedule(due);
+
+        Thread.sleep(100);
+        assertTrue(delivered.isEmpty());
+
+        clock.advance(Duration.ofDays(1));
+        Thread.sleep(100);
+        assertTrue(delivered.isEmpty());
+
+        clock.advance(Duration.ofDays(1));
+        await(() -> delivered.size() == 1);
+        assertEquals(List.of(due.getId()), ids(delivered.get(0)));
+    }
+
+    @Test
+    void shouldSkipTodosDeletedOrMovedSinceScheduled() throws InterruptedException {
+        ReminderScheduler scheduler = scheduler(delivered::add, 100, 1);
+        TodoItem kept = repository.save(new TodoItem("Kept", "Test Description", TODAY.plusDays(3)));
+        TodoItem deleted = repository.save(new TodoItem("Deleted", "Test Description", TODAY.plusDays(3)));
+        TodoItem moved = repository.save(new TodoItem("Moved", "Test Description", TODAY.plusDays(3)));
+        scheduler.schedule(kept);
+        scheduler.schedule(deleted);
+        scheduler.schedule(moved);
+        scheduler.schedule(repository.update(moved.getId(), new TodoItem("Moved", "Test Description", TODAY.plusDays(10))));
+        // A write reporting back late must not undo the newer one.
+        scheduler.schedule(moved);
+        repository.delete(deleted.getId());
+        scheduler.cancel(deleted.getId());
+
+        clock.advance(Duration.ofDays(2));
+        await(() -> delivered.size() == 1);
+        Thread.sleep(100);
+        assertEquals(1, delivered.size());
+        assertEquals(List.of(kept.getId()), ids(delivered.get(0)));
+
+        clock.advance(Duration.ofDays(7));
+        await(() -> delivered.size() == 2);
+        assertEquals(List.of(moved.getId()), ids(delivered.get(1)));
+    }
+
+    @Test
+    void shouldForgetRemindersOfClearedTodos() throws InterruptedException {
+        ReminderScheduler scheduler = scheduler(delivered::add, 100, 1);
+        scheduler.schedule(repository.save(new TodoItem("Cleared", "Test Description", TODAY.plusDays(3))));
+        repository.clear();
+        scheduler.cleared();
+        TodoItem after = repository.save(new TodoItem("After", "Test Description", TODAY.plusDays(3)));
+        scheduler.schedule(after);
+
+        clock.advance(Duration.ofDays(2));
+        await(() -> delivered.size() == 1);
+        Thread.sleep(100);
+        assertEquals(List.of(after.getId()), ids(delivered.get(0)));
+    }
+
+    @Test
+    void shouldDeliverInBatchesWithBoundedBatchesInFlight() throws InterruptedException {
+        Semaphore gate = new Semaphore(0);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        scheduler(items -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            gate.acquire();
+            inFlight.decrementAndGet();
+            delivered.add(items);
+        }, 3, 2);
+        ReminderScheduler scheduler = schedulers.get(0);
+        for (int i = 0; i < 10; i++) {
+            scheduler.schedule(repository.save(new TodoItem("Todo " + i, "Test Description", TODAY.plusDays(1))));
+        }
+
+        await(() -> inFlight.get() == 2);
+        Thread.sleep(100);
+        assertEquals(2, inFlight.get());
+        gate.release(10);
+
+        await(() -> delivered.stream().mapToInt(List::size).sum() == 10);
+        assertEquals(2, maxInFlight.get());
+        assertEquals(4, delivered.size());
+        assertTrue(delivered.stream().allMatch(batch -> batch.size() <= 3));
+    }
+
+    @Test
+    void shouldKeepTickingWhenTheSinkFails() {
+        AtomicInteger calls = new AtomicInteger();
+        ReminderScheduler scheduler = scheduler(items -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("sink down");
+        }, 100, 1);
+        scheduler.schedule(repository.save(new TodoItem("First", "Test Description", TODAY.plusDays(1))));
+        await(() -> calls.get() == 1);
+
+        scheduler.schedule(repository.save(new TodoItem("Second", "Test Description", TODAY.plusDays(1))));
+
+        await(() -> calls.get() == 2);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReminderScheduler(repository, items -> {
+                }, Duration.ofHours(24), Duration.ZERO, 100, 1, clock));
+    }
+
+    private ReminderScheduler scheduler(ReminderSink sink, int batchSize, int maxInFlight) {
+        ReminderScheduler scheduler = new ReminderScheduler(repository, sink, Duration.ofHours(24), Duration.ofMillis(10),
+                batchSize, maxInFlight, clock);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private static List<String> ids(List<TodoItem> items) {
+        return items.stream().map(TodoItem::getId).toList();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.todo.app.reminders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldFireOnTheDeadlineTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000);
+        wheel.add(1_005, "soon");
+        wheel.add(1_000 + 64 * 64 * 3 + 7, "later");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(1_004, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(1_005, fired::add);
+        assertEquals(List.of("soon"), fired);
+        wheel.advance(1_000 + 64 * 64 * 3 + 6, fired::add);
+        assertEquals(List.of("soon"), fired);
+        wheel.advance(1_000 + 64 * 64 * 3 + 7, fired::add);
+        assertEquals(List.of("soon", "later"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldFirePastDeadlinesOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000);
+        wheel.add(10, "overdue");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(1_000, fired::add);
+
+        assertEquals(List.of("overdue"), fired);
+    }
+
+    @Test
+    void shouldNotFireRemovedTimers() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> removed = wheel.add(100_000, "removed");
+        wheel.add(100_000, "kept");
+        wheel.remove(removed);
+        wheel.remove(removed);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(100_000, fired::add);
+
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldFireEveryTimerNeitherEarlyNorLateUnderRandomSchedules() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            long now = random.nextInt(1 << 20);
+            TimingWheel<Long> wheel = new TimingWheel<>(now);
+            Map<Long, TimingWheel.Timer<Long>> pending = new HashMap<>();
+            for (long i = 0; i < 3_000; i++) {
+                long deadline = now + (long) Math.pow(2, random.nextDouble() * 16) - 5;
+                // Deadline and sequence in one key, so every timer is distinct.
+                long key = deadline * 10_000 + i;
+                pending.put(key, wheel.add(deadline, key));
+                if (random.nextInt(5) == 0) {
+                    wheel.remove(pending.remove(pending.keySet().iterator().next()));
+                }
+                if (random.nextInt(10) == 0) {
+                    long tick = now + random.nextInt(1 << random.nextInt(12));
+                    wheel.advance(tick, fired -> {
+                        assertTrue(fired / 10_000 <= tick, "fired early");
+                        pending.remove(fired);
+                    });
+                    now = tick;
+                    for (long left : pending.keySet()) {
+                        assertTrue(left / 10_000 > tick, "fired late");
+                    }
+                }
+            }
+            wheel.advance(now + (1 << 17), pending::remove);
+            assertTrue(pending.isEmpty());
+            assertEquals(0, wheel.size());
+        }
+    }
+}
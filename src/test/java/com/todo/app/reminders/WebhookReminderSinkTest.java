@@ -0,0 +1,65 @@
+package com.todo.app.reminders;
+
+import com.sun.net.httpserver.HttpServer;
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookReminderSinkTest {
+
+    private final AtomicReference<String> received = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(204);
+    private HttpServer server;
+    private WebhookReminderSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/reminders", exchange -> {
+            received.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        URI url = URI.create("http://localhost:" + server.getAddress().getPort() + "/reminders");
+        sink = new WebhookReminderSink(JsonMapper.builder().build(), url, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldPostTheBatchAsJson() throws Exception {
+        TodoItem item = new TodoItem("Pay rent", "Test Description", LocalDate.of(2026, 3, 2));
+        item.setId("rent");
+
+        sink.deliver(List.of(item));
+
+        assertTrue(received.get().startsWith("[{"));
+        assertTrue(received.get().contains("\"id\":\"rent\""));
+        assertTrue(received.get().contains("\"title\":\"Pay rent\""));
+    }
+
+    @Test
+    void shouldFailTheBatchOnAnErrorStatus() {
+        status.set(503);
+
+        assertThrows(IOException.class, () -> sink.deliver(List.of(new TodoItem("Title", "Test Description", LocalDate.now()))));
+    }
+}
@@ -0,0 +1,163 @@
+package com.todo.app.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapTodoStoreTest {
+
+    @Test
+    void shouldReplaceAndRemove() {
+        HeapTodoStore store = new HeapTodoStore();
+        store.put("a", item("a", "First", 1));
+
+        TodoRecord previous = store.put("a", item("a", "Second", 2));
+
+        assertEquals("First", previous.title());
+        assertEquals("Second", store.get("a").title());
+        assertEquals(1, store.size());
+        assertEquals("Second", store.remove("a").title());
+        assertNull(store.get("a"));
+        assertNull(store.remove("a"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldFollowComputeSemantics() {
+        HeapTodoStore store = new HeapTodoStore();
+
+        assertNull(store.computeIfPresent("a", (id, existing) -> item(id, "never", 1)));
+        assertNull(store.get("a"));
+
+        store.compute("a", (id, existing) -> item(id, existing == null ? "created" : "updated", 1));
+        store.compute("a", (id, existing) -> item(id, existing == null ? "created" : "updated", 2));
+        assertEquals("updated", store.get("a").title());
+
+        assertNull(store.computeIfPresent("a", (id, existing) -> null));
+        assertNull(store.get("a"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldStreamThePointInTimeItOpenedAt() {
+        HeapTodoStore store = new HeapTodoStore();
+        for (int i = 0; i < 100; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i, 1));
+        }
+        Stream<TodoRecord> snapshot = store.stream();
+
+        store.put("id-1", item("id-1", "Changed", 2));
+        store.put("id-1", item("id-1", "Changed again", 3));
+        store.remove("id-2");
+        store.put("id-100", item("id-100", "Added", 1));
+
+        Map<String, String> titles = snapshot.collect(Collectors.toMap(TodoRecord::id, TodoRecord::title));
+        assertEquals(100, titles.size());
+        assertEquals("Title 1", titles.get("id-1"));
+        assertEquals("Title 2", titles.get("id-2"));
+        assertFalse(titles.containsKey("id-100"));
+
+        assertEquals(100, store.size());
+        assertNull(store.get("id-2"));
+        assertEquals("Changed again", store.get("id-1").title());
+    }
+
+    @Test
+    void shouldGiveEachSnapshotItsOwnPointInTime() {
+        HeapTodoStore store = new HeapTodoStore();
+        store.put("a", item("a", "First", 1));
+        Stream<TodoRecord> first = store.stream();
+        store.put("a", item("a", "Second", 2));
+        Stream<TodoRecord> second = store.stream();
+        store.put("a", item("a", "Third", 3));
+
+        assertEquals(List.of("Second"), second.map(TodoRecord::title).toList());
+        assertEquals(List.of("First"), first.map(TodoRecord::title).toList());
+        assertEquals(List.of("Third"), store.stream().map(TodoRecord::title).toList());
+    }
+
+    @Test
+    void shouldSeeItemsDeletedAndRecreatedAfterTheSnapshotOnce() {
+        HeapTodoStore store = new HeapTodoStore();
+        store.put("a", item("a", "Original", 1));
+        try (Stream<TodoRecord> snapshot = store.stream()) {
+            store.remove("a");
+            store.put("a", item("a", "Recreated", 1));
+
+            assertEquals(List.of("Original"), snapshot.map(TodoRecord::title).toList());
+        }
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldKeepStreamingItsSnapshotAfterClear() {
+        HeapTodoStore store = new HeapTodoStore();
+        for (int i = 0; i < 1_000; i++) {
+            store.put("id-" + i, item("id-" + i, "Title", 1));
+        }
+        var iterator = store.stream().iterator();
+        iterator.next();
+
+        store.clear();
+        store.put("new", item("new", "Title", 1));
+
+        int remaining = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            remaining++;
+        }
+        assertEquals(999, remaining);
+        assertEquals(1, store.size());
+        assertNull(store.get("id-1"));
+        assertEquals(1, store.stream().count());
+    }
+
+    @Test
+    void shouldDropTombstonesOnceNoSnapshotNeedsThem() {
+        HeapTodoStore store = new HeapTodoStore();
+        for (int i = 0; i < 5_000; i++) {
+            store.put("id-" + i, item("id-" + i, "Title", 1));
+        }
+        Stream<TodoRecord> snapshot = store.stream();
+        for (int i = 0; i < 5_000; i++) {
+            store.remove("id-" + i);
+        }
+        assertEquals(0, store.size());
+        assertEquals(5_000, snapshot.count());
+
+        store.put("after", item("after", "Title", 1));
+        assertEquals(List.of("after"), store.stream().map(TodoRecord::id).toList());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldLeaveTheSweepToLaterWritersRatherThanTheClosingReader() {
+        HeapTodoStore store = new HeapTodoStore();
+        for (int i = 0; i < 5_000; i++) {
+            store.put("id-" + i, item("id-" + i, "Title", 1));
+        }
+        try (Stream<TodoRecord> snapshot = store.stream()) {
+            for (int i = 0; i < 5_000; i++) {
+                store.remove("id-" + i);
+            }
+            assertEquals(5_000, snapshot.count());
+        }
+        assertEquals(5_000, store.entries());
+
+        for (int i = 0; i < 100; i++) {
+            store.put("after", item("after", "Title " + i, 1));
+        }
+        assertEquals(1, store.entries());
+        assertEquals(List.of("after"), store.stream().map(TodoRecord::id).toList());
+    }
+
+    private static TodoRecord item(String id, String title, long version) {
+        return new TodoRecord(id, null, title, "Description", LocalDate.of(2026, 1, 1), version);
+    }
+}
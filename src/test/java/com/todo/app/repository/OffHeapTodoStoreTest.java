@@ -0,0 +1,215 @@
+package com.todo.app.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTodoStoreTest {
+
+    @Test
+    void shouldRoundTripAllFields() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+
+        assertNull(store.put("a", new TodoRecord("a", "ålice", "Tïtle ✓", "Desc", LocalDate.of(2026, 3, 1), 3)));
+
+        TodoRecord found = store.get("a");
+        assertEquals("a", found.id());
+        assertEquals("ålice", found.owner());
+        assertEquals("Tïtle ✓", found.title());
+        assertEquals("Desc", found.description());
+        assertEquals(LocalDate.of(2026, 3, 1), found.completionDate());
+        assertEquals(3, found.version());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldKeepNullFields() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+
+        store.put("a", item("a", null, null, null, 1));
+
+        TodoRecord found = store.get("a");
+        assertNull(found.owner());
+        assertNull(found.title());
+        assertNull(found.description());
+        assertNull(found.completionDate());
+    }
+
+    @Test
+    void shouldKeepDatesBeyondAnIntOfEpochDays() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+
+        store.put("max", item("max", "Title", null, LocalDate.MAX, 1));
+        store.put("min", item("min", "Title", null, LocalDate.MIN, 1));
+
+        assertEquals(LocalDate.MAX, store.get("max").completionDate());
+        assertEquals(LocalDate.MIN, store.get("min").completionDate());
+    }
+
+    @Test
+    void shouldReplaceAndRemove() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+        store.put("a", item("a", "First", "d", null, 1));
+
+        TodoRecord previous = store.put("a", item("a", "Second", "d", null, 2));
+
+        assertEquals("First", previous.title());
+        assertEquals("Second", store.get("a").title());
+        assertEquals(1, store.size());
+        assertEquals("Second", store.remove("a").title());
+        assertNull(store.get("a"));
+        assertNull(store.remove("a"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldFollowComputeSemantics() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+
+        assertNull(store.computeIfPresent("a", (id, existing) -> item(id, "never", null, null, 1)));
+        assertNull(store.get("a"));
+
+        store.compute("a", (id, existing) -> item(id, existing == null ? "created" : "updated", null, null, 1));
+        store.compute("a", (id, existing) -> item(id, existing == null ? "created" : "updated", null, null, 2));
+        assertEquals("updated", store.get("a").title());
+
+        assertNull(store.computeIfPresent("a", (id, existing) -> null));
+        assertNull(store.get("a"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldResolveHashCollisionsByComparingIds() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16, id -> 42);
+        for (int i = 0; i < 100; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i, null, null, 1));
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            store.remove("id-" + i);
+        }
+
+        assertEquals(50, store.size());
+        for (int i = 0; i < 100; i++) {
+            TodoRecord found = store.get("id-" + i);
+            if (i % 2 == 0) {
+                assertNull(found);
+            } else {
+                assertEquals("Title " + i, found.title());
+            }
+        }
+    }
+
+    @Test
+    void shouldGrowPastInitialCapacity() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+        for (int i = 0; i < 10_000; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i, null, null, 1));
+        }
+
+        assertEquals(10_000, store.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("Title " + i, store.get("id-" + i).title());
+        }
+    }
+
+    @Test
+    void shouldCompactOnceDeadRecordsDominate() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 12);
+        for (int i = 0; i < 10; i++) {
+            store.put("id-" + i, item("id-" + i, "Title", null, null, 1));
+        }
+        for (int round = 0; round < 1_000; round++) {
+            store.put("id-0", item("id-0", "Title " + round, null, null, round));
+        }
+
+        assertTrue(store.offHeapBytes() <= 2 << 12);
+        assertEquals("Title 999", store.get("id-0").title());
+        assertEquals(10, store.size());
+        assertEquals(10, store.stream().count());
+    }
+
+    @Test
+    void shouldStreamLiveRecordsAcrossChunks() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 10);
+        for (int i = 0; i < 200; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i, "Description", null, 1));
+        }
+        store.remove("id-7");
+        store.put("id-8", item("id-8", "Changed", null, null, 2));
+
+        List<TodoRecord> items = store.stream().toList();
+
+        assertEquals(199, items.size());
+        Set<String> ids = items.stream().map(TodoRecord::id).collect(Collectors.toSet());
+        assertFalse(ids.contains("id-7"));
+        assertEquals("Changed", items.stream().filter(item -> item.id().equals("id-8")).findFirst().orElseThrow().title());
+    }
+
+    @Test
+    void shouldStoreRecordsLargerThanAChunk() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 8);
+        String description = "x".repeat(4_000);
+
+        store.put("a", item("a", "Big", description, null, 1));
+        store.put("b", item("b", "Small", null, null, 1));
+
+        assertEquals(description, store.get("a").description());
+        assertEquals(2, store.stream().count());
+    }
+
+    @Test
+    void shouldKeepStreamingItsSnapshotAfterClear() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 16);
+        for (int i = 0; i < 1_000; i++) {
+            store.put("id-" + i, item("id-" + i, "Title", null, null, 1));
+        }
+        var iterator = store.stream().iterator();
+        iterator.next();
+
+        store.clear();
+
+        int remaining = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            remaining++;
+        }
+        assertEquals(999, remaining);
+        assertEquals(0, store.size());
+        assertNull(store.get("id-1"));
+        assertEquals(0, store.stream().count());
+    }
+
+    @Test
+    void shouldStreamThePointInTimeItOpenedAt() {
+        OffHeapTodoStore store = new OffHeapTodoStore(1 << 10);
+        for (int i = 0; i < 100; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i, null, null, 1));
+        }
+        var snapshot = store.stream();
+
+        store.put("id-1", item("id-1", "Changed", null, null, 2));
+        store.remove("id-2");
+        store.put("id-100", item("id-100", "Added", null, null, 1));
+        for (int round = 0; round < 200; round++) {
+            store.put("id-3", item("id-3", "Churn " + round, null, null, round + 2));
+        }
+
+        List<TodoRecord> items = snapshot.toList();
+        assertEquals(100, items.size());
+        assertEquals(100, items.stream().map(TodoRecord::id).distinct().count());
+        assertEquals("Title 1", items.stream().filter(item -> item.id().equals("id-1")).findFirst().orElseThrow().title());
+        assertEquals("Title 3", items.stream().filter(item -> item.id().equals("id-3")).findFirst().orElseThrow().title());
+        assertTrue(items.stream().anyMatch(item -> item.id().equals("id-2")));
+        assertEquals(100, store.size());
+    }
+
+    private static TodoRecord item(String id, String title, String description, LocalDate date, long version) {
+        return new TodoRecord(id, null, title, description, date, version);
+    }
+}
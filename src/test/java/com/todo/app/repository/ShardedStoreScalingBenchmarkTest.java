@@ -0,0 +1,88 @@
+package com.todo.app.repository;
+
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Repository write throughput at 1, 2, 4, ... threads up to the core count. A single off-heap store takes one
+// lock for every write, so it stays flat; sharded it should climb with the thread count until cores run out.
+@Tag("benchmark")
+class ShardedStoreScalingBenchmarkTest {
+
+    private static final int TODOS = 100_000;
+    private static final int WRITES_PER_THREAD = 200_000;
+
+    @Test
+    void writeThroughputByThreadCount() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        measure("off-heap", cores, OffHeapTodoStore::new);
+        measure("off-heap x" + cores * 4, cores, () -> new ShardedTodoStore(cores * 4, () -> new OffHeapTodoStore(8 << 20)));
+        measure("heap", cores, HeapTodoStore::new);
+        measure("heap x" + cores * 4, cores, () -> new ShardedTodoStore(cores * 4, HeapTodoStore::new));
+    }
+
+    private static void measure(String engine, int cores, Supplier<TodoStore> stores) throws Exception {
+        TodoRepository repository = new TodoRepository(stores.get());
+        String[] ids = new String[TODOS];
+        for (int i = 0; i < TODOS; i++) {
+            ids[i] = repository.save(item(i)).getId();
+        }
+        double baseline = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            double perMillisecond = run(repository, ids, threads);
+            baseline = threads == 1 ? perMillisecond : baseline;
+            System.out.printf("%-16s %2d threads %,10.0f writes/ms  %.2fx%n", engine, threads, perMillisecond, perMillisecond / baseline);
+        }
+    }
+
+    // Mostly single updates, with a small batch every 64 writes so the ordered multi-shard locking is exercised.
+    private static double run(TodoRepository repository, String[] ids, int threads) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        if (i % 64 == 0) {
+                            List<TodoItem> batch = new ArrayList<>();
+                            for (int b = 0; b < 4; b++) {
+                                TodoItem update = item(i);
+                                update.setId(ids[random.nextInt(ids.length)]);
+                                batch.add(update);
+                            }
+                            repository.updateAll(batch);
+                        } else {
+                            repository.update(ids[random.nextInt(ids.length)], item(i));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return (double) threads * WRITES_PER_THREAD / ((System.nanoTime() - begin) / 1e6);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static TodoItem item(int i) {
+        return new TodoItem("Todo " + i, "Scaling benchmark description " + i, LocalDate.of(2026, 1, 1).plusDays(i % 365));
+    }
+}
@@ -0,0 +1,107 @@
+package com.todo.app.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTodoStoreTest {
+
+    @Test
+    void shouldRouteEveryOperationToTheOwningShard() {
+        ShardedTodoStore store = new ShardedTodoStore(8, HeapTodoStore::new);
+        for (int i = 0; i < 1_000; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i));
+        }
+        store.computeIfPresent("id-1", (id, existing) -> item(id, "Changed"));
+        store.remove("id-2");
+
+        assertEquals(999, store.size());
+        assertEquals("Changed", store.get("id-1").title());
+        assertNull(store.get("id-2"));
+        assertEquals(999, store.stream().count());
+        assertEquals(8, IntStream.range(0, 1_000).map(i -> store.shardOf("id-" + i)).distinct().count());
+    }
+
+    @Test
+    void shouldWorkOverOffHeapShards() {
+        ShardedTodoStore store = new ShardedTodoStore(4, () -> new OffHeapTodoStore(1 << 12));
+        for (int i = 0; i < 500; i++) {
+            store.put("id-" + i, item("id-" + i, "Title " + i));
+        }
+
+        assertEquals("Title 42", store.get("id-42").title());
+        assertEquals(500, store.stream().map(TodoRecord::id).distinct().count());
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.stream().count());
+    }
+
+    @Test
+    void shouldSnapshotEveryShardAtOnePointInTime() {
+        ShardedTodoStore store = new ShardedTodoStore(4, HeapTodoStore::new);
+        for (int i = 0; i < 100; i++) {
+            store.put("id-" + i, item("id-" + i, "Before"));
+        }
+
+        try (Stream<TodoRecord> snapshot = store.stream()) {
+            for (int i = 0; i < 100; i++) {
+                store.put("id-" + i, item("id-" + i, "After"));
+            }
+            Map<String, Long> titles = snapshot.collect(Collectors.groupingBy(TodoRecord::title, Collectors.counting()));
+            assertEquals(Map.of("Before", 100L), titles);
+        }
+    }
+
+    @Test
+    void shouldHoldOffWritersToLockedShardsOnly() throws Exception {
+        ShardedTodoStore store = new ShardedTodoStore(8, HeapTodoStore::new);
+        String locked = "locked";
+        String other = IntStream.range(0, 100).mapToObj(i -> "other-" + i)
+                .filter(id -> store.shardOf(id) != store.shardOf(locked)).findFirst().orElseThrow();
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> batch = executor.submit(() -> store.atomically(List.of(locked), () -> {
+                inside.countDown();
+                release.await();
+                return null;
+            }));
+            inside.await();
+
+            store.put(other, item(other, "Free"));
+            Future<?> blocked = executor.submit(() -> store.put(locked, item(locked, "Waited")));
+            assertThrows(TimeoutException.class, () -> blocked.get(100, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            batch.get();
+            blocked.get();
+            assertEquals("Waited", store.get(locked).title());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectAShardCountBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedTodoStore(0, HeapTodoStore::new));
+    }
+
+    private static TodoRecord item(String id, String title) {
+        return new TodoRecord(id, null, title, "Description", LocalDate.of(2026, 1, 1), 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.todo.app.repository;
+
+import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoSort;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A top-20 by title, a page deep into that order and a filtered top-20, each served once by sorting findAll() the
+// way clients used to and once from the repository's sorted views.
+@Tag("benchmark")
+class SortedViewBenchmarkTest {
+
+    private static final int TODOS = 200_000;
+    private static final int QUERIES = 200;
+    private static final int LIMIT = 20;
+    private static final Comparator<TodoItem> BY_TITLE = Comparator.comparing(TodoItem::getTitle, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(TodoItem::getTitle).thenComparing(TodoItem::getId);
+
+    @Test
+    void sortedViewsVersusSortingFindAll() {
+        TodoRepository repository = new TodoRepository();
+        for (int i = 0; i < TODOS; i++) {
+            // A multiplicative shuffle, so title order has nothing to do with insertion order.
+            int key = (int) ((i * 2_654_435_761L) % TODOS);
+            repository.save(new TodoItem("Todo " + key, "Description " + i, LocalDate.of(2026, 1, 1).plusDays(i % 365)));
+        }
+        TodoSort byTitle = new TodoSort(TodoSort.Field.TITLE, false);
+        List<TodoItem> deep = repository.findSorted(byTitle, null, null, TODOS / 2);
+        String middle = byTitle.keyOf(deep.get(deep.size() - 1));
+
+        compare("top " + LIMIT,
+                () -> repository.findAll().stream().sorted(BY_TITLE).limit(LIMIT).toList(),
+                () -> repository.findSorted(byTitle, null, null, LIMIT));
+        compare("page at " + TODOS / 2,
+                () -> repository.findAll().stream().sorted(BY_TITLE).skip(TODOS / 2).limit(LIMIT).toList(),
+                () -> repository.findSorted(byTitle, null, middle, LIMIT));
+        compare("filtered top " + LIMIT,
+                () -> repository.findAll().stream().filter(item -> item.getTitle().toLowerCase(Locale.ROOT).contains("99"))
+                        .sorted(BY_TITLE).limit(LIMIT).toList(),
+                () -> repository.findSorted(byTitle, "99", null, LIMIT));
+    }
+
+    private static void compare(String query, Supplier<List<TodoItem>> naive, Supplier<List<TodoItem>> view) {
+        assertEquals(ids(naive.get()), ids(view.get()));
+        double naiveMicros = time(naive);
+        double viewMicros = time(view);
+        System.out.printf("%-20s findAll + sort %,10.0f us   sorted view %,8.1f us   %,.0fx%n",
+                query, naiveMicros, viewMicros, naiveMicros / viewMicros);
+    }
+
+    private static double time(Supplier<List<TodoItem>> query) {
+        for (int i = 0; i < QUERIES / 10; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1e3 / QUERIES;
+    }
+
+    private static List<String> ids(List<TodoItem> items) {
+        return items.stream().map(TodoItem::getId).toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.todo.app.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class StorageEngineBenchmarkTest {
+
+    private static final int TODOS = 1_000_000;
+    private static final int UPDATES = 2_000_000;
+
+    @Test
+    void heapVersusOffHeapStore() {
+        measure("heap", HeapTodoStore::new);
+        measure("off-heap", OffHeapTodoStore::new);
+    }
+
+    private static void measure(String engine, Supplier<TodoStore> engines) {
+        System.gc();
+        long heapBefore = usedHeap();
+        long gcBefore = gcMillis();
+        long start = System.nanoTime();
+
+        TodoStore store = engines.get();
+        for (int i = 0; i < TODOS; i++) {
+            store.put(id(i), item(i, 1));
+        }
+        for (int i = 0; i < UPDATES; i++) {
+            int target = i % TODOS;
+            store.put(id(target), item(target, 2));
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.gc();
+        long retained = usedHeap() - heapBefore;
+        long gcMillis = gcMillis() - gcBefore;
+        assertEquals(TODOS, store.size());
+
+        System.out.printf("%s store, %,d todos + %,d updates: %d ms, retained heap %,d KiB, gc time %d ms%n",
+                engine, TODOS, UPDATES, loadMillis, retained / 1024, gcMillis);
+    }
+
+    private static String id(int i) {
+        return TimeOrderedIdGenerator.encode(0, i);
+    }
+
+    private static TodoRecord item(int i, long version) {
+        return new TodoRecord(id(i), "owner-" + i % 100, "Todo " + i, "Description for todo number " + i, LocalDate.of(2026, 1, 1).plusDays(i % 365), version);
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,80 @@
+package com.todo.app.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void shouldProduceStrictlyIncreasingIdsWithinOneMillisecond() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(() -> 1_700_000_000_000L);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+        assertEquals(TimeOrderedIdGenerator.LENGTH, ids.get(0).length());
+    }
+
+    @Test
+    void shouldStayMonotonicWhenTheClockStepsBack() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(clock::get);
+
+        String before = generator.nextId();
+        clock.addAndGet(-5_000);
+        String after = generator.nextId();
+
+        assertTrue(before.compareTo(after) < 0);
+    }
+
+    @Test
+    void shouldSortByTimestamp() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimeOrderedIdGenerator earlier = new TimeOrderedIdGenerator(clock::get);
+        TimeOrderedIdGenerator later = new TimeOrderedIdGenerator(() -> clock.get() + 1);
+
+        assertTrue(earlier.nextId().compareTo(later.nextId()) < 0);
+    }
+
+    @Test
+    void shouldEncodeTheFullRangeInOrder() {
+        assertEquals("00000000000000000000000000", TimeOrderedIdGenerator.encode(0, 0));
+        assertEquals("0000000000000000000000000Z", TimeOrderedIdGenerator.encode(0, 31));
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", TimeOrderedIdGenerator.encode(-1, -1));
+        assertTrue(TimeOrderedIdGenerator.encode(0, -1).compareTo(TimeOrderedIdGenerator.encode(1, 0)) < 0);
+    }
+
+    @Test
+    void shouldNotRepeatIdsAcrossThreads() throws InterruptedException {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    Set<String> local = new HashSet<>();
+                    for (int i = 0; i < 10_000; i++) {
+                        local.add(generator.nextId());
+                    }
+                    ids.addAll(local);
+                });
+            }
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+}
@@ -1,11 +1,34 @@
 package com.todo.app.repository;
 
 
+import com.todo.app.exeptions.QuotaExceededException;
+import com.todo.app.exeptions.VersionConflictException;
 import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoSort;
+import com.todo.app.persistence.SnapshotStore;
+import com.todo.app.persistence.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,4 +107,745 @@ public class TodoRepositoryTest {
         TodoItem result = repository.update("nonexistent-id", updated);
         assertNull(result);
     }
+
+    @Test
+    void shouldPageThroughAllItemsInStableOrder() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(new TodoItem("Test " + i, "Test Description", LocalDate.now()));
+        }
+
+        List<TodoItem> first = repository.findPage(null, 2);
+        List<TodoItem> second = repository.findPage(first.get(1).getId(), 2);
+        List<TodoItem> third = repository.findPage(second.get(1).getId(), 2);
+
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertEquals(1, third.size());
+        assertTrue(first.get(1).getId().compareTo(second.get(0).getId()) < 0);
+
+        Set<String> seen = new HashSet<>();
+        for (List<TodoItem> page : List.of(first, second, third)) {
+            page.forEach(item -> seen.add(item.getId()));
+        }
+        assertEquals(5, seen.size());
+    }
+
+    @Test
+    void shouldSkipDeletedItemsWhenPaging() {
+        TodoItem first = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        TodoItem second = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        repository.delete(first.getId());
+
+        List<TodoItem> page = repository.findPage(null, 10);
+
+        assertEquals(1, page.size());
+        assertEquals(second.getId(), page.get(0).getId());
+    }
+
+    @Test
+    void shouldReturnEmptyPageAfterClear() {
+        repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        repository.clear();
+
+        assertTrue(repository.findPage(null, 10).isEmpty());
+    }
+
+    @Test
+    void shouldFindItemsByCompletionDateRange() {
+        LocalDate today = LocalDate.now();
+        TodoItem yesterday = repository.save(new TodoItem("Yesterday", "Test Description", today.minusDays(1)));
+        TodoItem todayItem = repository.save(new TodoItem("Today", "Test Description", today));
+        repository.save(new TodoItem("Next week", "Test Description", today.plusDays(7)));
+
+        List<TodoItem> result = repository.findByCompletionDateBetween(today.minusDays(1), today);
+
+        assertEquals(List.of(yesterday.getId(), todayItem.getId()), result.stream().map(TodoItem::getId).toList());
+    }
+
+    @Test
+    void shouldFindItemsDueBeforeDate() {
+        LocalDate today = LocalDate.now();
+        TodoItem overdue = repository.save(new TodoItem("Overdue", "Test Description", today.minusDays(3)));
+        repository.save(new TodoItem("Today", "Test Description", today));
+
+        List<TodoItem> result = repository.findByCompletionDateBefore(today);
+
+        assertEquals(1, result.size());
+        assertEquals(overdue.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void shouldFindTheOldestItemsDueBeforeDateUpToLimit() {
+        LocalDate today = LocalDate.now();
+        TodoItem oldest = repository.save(new TodoItem("Oldest", "Test Description", today.minusDays(9)));
+        TodoItem older = repository.save(new TodoItem("Older", "Test Description", today.minusDays(5)));
+        repository.save(new TodoItem("Old", "Test Description", today.minusDays(2)));
+
+        List<TodoItem> result = repository.findByCompletionDateBefore(today, 2);
+
+        assertEquals(List.of(oldest.getId(), older.getId()), result.stream().map(TodoItem::getId).toList());
+    }
+
+    @Test
+    void shouldDeleteOnlyItemsUnchangedSinceRead() {
+        LocalDate today = LocalDate.now();
+        TodoItem unchanged = repository.save(new TodoItem("Unchanged", "Test Description", today.minusDays(9)));
+        TodoItem changed = repository.save(new TodoItem("Changed", "Test Description", today.minusDays(9)));
+        TodoItem owned = new TodoItem("Owned", "Test Description", today.minusDays(9));
+        owned.setOwner("alice");
+        owned = repository.save(owned);
+        List<TodoItem> read = repository.findByCompletionDateBefore(today);
+        repository.update(changed.getId(), new TodoItem("Changed again", "Test Description", today.minusDays(9)));
+
+        assertEquals(List.of(true, false, true), repository.deleteUnchanged(read));
+
+        assertFalse(repository.findById(unchanged.getId()).isPresent());
+        assertFalse(repository.findById(owned.getId()).isPresent());
+        assertEquals("Changed again", repository.findById(changed.getId()).orElseThrow().getTitle());
+        assertEquals(0, repository.countByOwner("alice"));
+        assertEquals(List.of(false), repository.deleteUnchanged(List.of(unchanged)));
+    }
+
+    @Test
+    void shouldFindDueDatesUpToTheLastRepresentableDate() {
+        LocalDate today = LocalDate.now();
+        repository.save(new TodoItem("Today", "Test Description", today));
+        repository.save(new TodoItem("Far off", "Test Description", LocalDate.MAX));
+
+        assertEquals(2, repository.findByCompletionDateBetween(today, LocalDate.MAX).size());
+        assertEquals(1, repository.findByCompletionDateBetween(LocalDate.MAX, LocalDate.MAX).size());
+    }
+
+    @Test
+    void shouldMoveItemInDateIndexOnUpdate() {
+        LocalDate today = LocalDate.now();
+        TodoItem item = repository.save(new TodoItem("Test", "Test Description", today));
+
+        repository.update(item.getId(), new TodoItem("Test", "Test Description", today.plusDays(2)));
+
+        assertTrue(repository.findByCompletionDateBetween(today, today).isEmpty());
+        assertEquals(1, repository.findByCompletionDateBetween(today.plusDays(2), today.plusDays(2)).size());
+    }
+
+    @Test
+    void shouldRemoveItemFromDateIndexOnDeleteAndClear() {
+        LocalDate today = LocalDate.now();
+        TodoItem item = repository.save(new TodoItem("Test", "Test Description", today));
+        repository.save(new TodoItem("Test", "Test Description", today));
+
+        repository.delete(item.getId());
+        assertEquals(1, repository.findByCompletionDateBetween(today, today).size());
+
+        repository.clear();
+        assertTrue(repository.findByCompletionDateBetween(today, today).isEmpty());
+    }
+
+    @Test
+    void shouldSearchIndexedText() {
+        TodoItem milk = repository.save(new TodoItem("Buy milk", "From the corner shop", LocalDate.now()));
+        repository.save(new TodoItem("Write report", "Quarterly numbers", LocalDate.now()));
+
+        List<TodoItem> result = repository.search("milk", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(milk.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void shouldReindexSearchTextOnUpdateAndDelete() {
+        TodoItem item = repository.save(new TodoItem("Buy milk", "From the corner shop", LocalDate.now()));
+
+        repository.update(item.getId(), new TodoItem("Buy bread", "From the bakery", LocalDate.now()));
+        assertTrue(repository.search("milk", 10).isEmpty());
+        assertEquals(1, repository.search("bakery", 10).size());
+
+        repository.delete(item.getId());
+        assertTrue(repository.search("bakery", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRecoverStateFromWriteAheadLog(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("todo.wal");
+        String keptId;
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            TodoRepository durable = new TodoRepository(log, null);
+            durable.save(new TodoItem("Cleared", "Test Description", LocalDate.now()));
+            durable.clear();
+            TodoItem kept = durable.save(new TodoItem("Kept", "Test Description", LocalDate.now()));
+            TodoItem deleted = durable.save(new TodoItem("Deleted", "Test Description", LocalDate.now()));
+            durable.update(kept.getId(), new TodoItem("Kept Updated", "Test Description", LocalDate.now().plusDays(1)));
+            durable.delete(deleted.getId());
+            keptId = kept.getId();
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            TodoRepository recovered = new TodoRepository(log, null);
+
+            assertEquals(1, recovered.count());
+            assertEquals("Kept Updated", recovered.findById(keptId).orElseThrow().getTitle());
+            assertEquals(2, recovered.findById(keptId).orElseThrow().getVersion());
+            assertEquals(1, recovered.findByCompletionDateBetween(LocalDate.now().plusDays(1), LocalDate.now().plusDays(1)).size());
+            assertEquals(1, recovered.search("updated", 10).size());
+        }
+    }
+
+    @Test
+    void shouldRefuseToRecoverPastACorruptArchivedSegment(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            TodoRepository durable = new TodoRepository(log, null);
+            durable.save(new TodoItem("First", "Test Description", LocalDate.now()));
+            durable.save(new TodoItem("Second", "Test Description", LocalDate.now()));
+            log.rotate().join();
+            durable.save(new TodoItem("Active", "Test Description", LocalDate.now()));
+        }
+        Path segment = directory.resolve("todo.wal.1");
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(segment, bytes);
+
+        try (WriteAheadLog log = new WriteAheadLog(path, Duration.ZERO)) {
+            assertThrows(UncheckedIOException.class, () -> new TodoRepository(log, null));
+        }
+        assertEquals(bytes.length, Files.size(segment));
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusLogTail(@TempDir Path directory) throws IOException {
+        Path walPath = directory.resolve("todo.wal");
+        SnapshotStore snapshots = new SnapshotStore(directory.resolve("todo.snapshot"));
+        String snapshottedId;
+        String tailId;
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository durable = new TodoRepository(log, snapshots);
+            snapshottedId = durable.save(new TodoItem("Snapshotted", "Test Description", LocalDate.now())).getId();
+            String deletedId = durable.save(new TodoItem("Deleted later", "Test Description", LocalDate.now())).getId();
+
+            assertEquals(2, durable.writeSnapshot());
+
+            tailId = durable.save(new TodoItem("Tail", "Test Description", LocalDate.now())).getId();
+            durable.delete(deletedId);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository recovered = new TodoRepository(log, snapshots);
+
+            assertEquals(2, recovered.count());
+            assertTrue(recovered.findById(snapshottedId).isPresent());
+            assertTrue(recovered.findById(tailId).isPresent());
+            assertEquals(1, recovered.search("snapshotted", 10).size());
+        }
+    }
+
+    @Test
+    void shouldKeepWritesLoggedBeforeAFailedSnapshotAcrossRestarts(@TempDir Path directory) throws IOException {
+        Path walPath = directory.resolve("todo.wal");
+        Path snapshotPath = directory.resolve("todo.snapshot");
+        String snapshottedId;
+        String loggedId;
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository durable = new TodoRepository(log, new SnapshotStore(snapshotPath));
+            snapshottedId = durable.save(new TodoItem("Snapshotted", "Test Description", LocalDate.now())).getId();
+            durable.writeSnapshot();
+        }
+
+        SnapshotStore failing = new SnapshotStore(snapshotPath) {
+            @Override
+            public long write(long coveredSegment, Iterator<TodoItem> items) throws IOException {
+                throw new IOException("Simulated snapshot failure");
+            }
+        };
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository restarted = new TodoRepository(log, failing);
+            loggedId = restarted.save(new TodoItem("Logged", "Test Description", LocalDate.now())).getId();
+            assertThrows(IOException.class, restarted::writeSnapshot);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository recovered = new TodoRepository(log, new SnapshotStore(snapshotPath));
+
+            assertTrue(recovered.findById(snapshottedId).isPresent());
+            assertTrue(recovered.findById(loggedId).isPresent());
+        }
+    }
+
+    @Test
+    void shouldApplyBatchOperations() {
+        List<TodoItem> saved = repository.saveAll(List.of(
+                new TodoItem("First", "Test Description", LocalDate.now()),
+                new TodoItem("Second", "Test Description", LocalDate.now())));
+        assertEquals(2, repository.count());
+
+        TodoItem replacement = new TodoItem("First Updated", "Test Description", LocalDate.now());
+        replacement.setId(saved.get(0).getId());
+        TodoItem missing = new TodoItem("Missing", "Test Description", LocalDate.now());
+        missing.setId("nonexistent-id");
+        List<TodoItem> updated = repository.updateAll(List.of(replacement, missing));
+        assertEquals("First Updated", updated.get(0).getTitle());
+        assertNull(updated.get(1));
+
+        List<Boolean> deleted = repository.deleteAll(List.of(saved.get(1).getId(), "nonexistent-id"));
+        assertEquals(List.of(true, false), deleted);
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldStreamAllItems() {
+        repository.save(new TodoItem("First", "Test Description", LocalDate.now()));
+        repository.save(new TodoItem("Second", "Test Description", LocalDate.now()));
+
+        assertEquals(Set.of("First", "Second"), repository.stream().map(TodoItem::getTitle).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldNotLetCallersChangeStoredItems() {
+        TodoItem item = repository.save(new TodoItem("Stored", "Test Description", LocalDate.now()));
+
+        item.setTitle("Changed after save");
+        repository.findById(item.getId()).orElseThrow().setTitle("Changed after read");
+        repository.findAll().get(0).setVersion(99);
+
+        TodoItem stored = repository.findById(item.getId()).orElseThrow();
+        assertEquals("Stored", stored.getTitle());
+        assertEquals(1, stored.getVersion());
+    }
+
+    @Test
+    void shouldStreamOnePointInTimeWhileWritersContinue() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(repository.save(new TodoItem("Before", "Test Description", LocalDate.now())).getId());
+        }
+
+        try (var items = repository.stream()) {
+            var iterator = items.iterator();
+            iterator.next();
+            for (String id : ids) {
+                repository.update(id, new TodoItem("After", "Test Description", LocalDate.now()));
+            }
+            repository.delete(ids.get(50));
+            repository.save(new TodoItem("After", "Test Description", LocalDate.now()));
+
+            int seen = 1;
+            while (iterator.hasNext()) {
+                assertEquals("Before", iterator.next().getTitle());
+                seen++;
+            }
+            assertEquals(100, seen);
+        }
+        assertEquals(100, repository.count());
+        assertTrue(repository.findAll().stream().allMatch(item -> item.getTitle().equals("After")));
+    }
+
+    @Test
+    void shouldKeepAnOpenStreamReadableAcrossClear() {
+        for (int i = 0; i < 10; i++) {
+            repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        }
+
+        try (var items = repository.stream()) {
+            repository.clear();
+            repository.save(new TodoItem("New", "Test Description", LocalDate.now()));
+
+            assertEquals(10, items.count());
+        }
+        assertEquals(1, repository.findAll().size());
+        assertEquals(1, repository.findPage(null, 10).size());
+        assertEquals(1, repository.search("new", 10).size());
+    }
+
+    @Test
+    void shouldRecordOperationTimersErrorsAndStoreSize() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TodoRepository metered = new TodoRepository(null, null, registry);
+
+        TodoItem item = metered.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        metered.findById(item.getId());
+        metered.findById(item.getId());
+        assertThrows(NullPointerException.class, () -> metered.findById(null));
+
+        assertEquals(1, registry.get("todo.repository.operations").tag("method", "save").timer().count());
+        assertEquals(3, registry.get("todo.repository.operations").tag("method", "findById").timer().count());
+        assertEquals(1.0, registry.get("todo.repository.errors").tag("method", "findById").counter().count());
+        assertEquals(0.0, registry.get("todo.repository.errors").tag("method", "save").counter().count());
+        assertEquals(1.0, registry.get("todo.repository.size").gauge().value());
+    }
+
+    @Test
+    void shouldNotCountVersionConflictsAsErrors() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TodoRepository metered = new TodoRepository(null, null, registry);
+        TodoItem item = metered.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+
+        assertThrows(VersionConflictException.class,
+                () -> metered.update(item.getId(), new TodoItem("Stale", "Test Description", LocalDate.now()), 2));
+
+        assertEquals(1, registry.get("todo.repository.operations").tag("method", "update").timer().count());
+        assertEquals(0.0, registry.get("todo.repository.errors").tag("method", "update").counter().count());
+    }
+
+    @Test
+    void shouldBumpItemAndStoreVersionsOnEveryChange() {
+        String initial = repository.versionTag();
+        TodoItem item = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        assertEquals(1, item.getVersion());
+        String afterSave = repository.versionTag();
+        assertNotEquals(initial, afterSave);
+
+        TodoItem updated = repository.update(item.getId(), new TodoItem("Updated", "Test Description", LocalDate.now()));
+        assertEquals(2, updated.getVersion());
+        String afterUpdate = repository.versionTag();
+        assertNotEquals(afterSave, afterUpdate);
+
+        repository.update("nonexistent-id", new TodoItem("Missing", "Test Description", LocalDate.now()));
+        repository.delete("nonexistent-id");
+        assertEquals(afterUpdate, repository.versionTag());
+
+        repository.delete(item.getId());
+        assertNotEquals(afterUpdate, repository.versionTag());
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleVersion() {
+        TodoItem item = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        repository.update(item.getId(), new TodoItem("First", "Test Description", LocalDate.now()), 1);
+
+        VersionConflictException conflict = assertThrows(VersionConflictException.class,
+                () -> repository.update(item.getId(), new TodoItem("Second", "Test Description", LocalDate.now()), 1));
+
+        assertEquals(2, conflict.getCurrentVersion());
+        assertEquals("First", repository.findById(item.getId()).orElseThrow().getTitle());
+        assertEquals(1, repository.search("first", 10).size());
+        assertTrue(repository.search("second", 10).isEmpty());
+    }
+
+    @Test
+    void shouldLetExactlyOneConcurrentUpdateWinPerVersion() throws Exception {
+        TodoItem item = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        repository.update(item.getId(), new TodoItem("Writer", "Test Description", LocalDate.now()), 1);
+                        return true;
+                    } catch (VersionConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+        }
+
+        long winners = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                winners++;
+            }
+        }
+        assertEquals(1, winners);
+        assertEquals(2, repository.findById(item.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldNotResurrectDeletedItemOnUpdate() {
+        TodoItem item = repository.save(new TodoItem("Test", "Test Description", LocalDate.now()));
+        repository.delete(item.getId());
+
+        assertNull(repository.update(item.getId(), new TodoItem("Updated", "Test Description", LocalDate.now()), 1));
+        assertTrue(repository.findById(item.getId()).isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void shouldAssignTimeOrderedIdsOnSave() {
+        TodoItem first = repository.save(new TodoItem("First", "Test Description", LocalDate.now()));
+        TodoItem second = repository.save(new TodoItem("Second", "Test Description", LocalDate.now()));
+        TodoItem third = repository.save(new TodoItem("Third", "Test Description", LocalDate.now()));
+
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                repository.findPage(null, 10).stream().map(TodoItem::getId).toList());
+    }
+
+    @Test
+    void shouldUseTheSuppliedIdGenerator() {
+        AtomicInteger sequence = new AtomicInteger();
+        TodoRepository custom = new TodoRepository(null, null, null, () -> "id-" + sequence.incrementAndGet());
+
+        assertEquals("id-1", custom.save(new TodoItem("Test", "Test Description", LocalDate.now())).getId());
+        assertEquals("id-2", custom.save(new TodoItem("Test", "Test Description", LocalDate.now())).getId());
+    }
+
+    @Test
+    void shouldWorkOnTheOffHeapStore() {
+        TodoRepository offHeap = new TodoRepository(new OffHeapTodoStore(1 << 12));
+        TodoItem item = offHeap.save(new TodoItem("Buy bread", "At the bakery", LocalDate.now()));
+        offHeap.save(new TodoItem("Walk dog", "Test Description", LocalDate.now().plusDays(3)));
+
+        offHeap.update(item.getId(), new TodoItem("Buy rolls", "At the bakery", LocalDate.now()), 1);
+
+        assertEquals("Buy rolls", offHeap.findById(item.getId()).orElseThrow().getTitle());
+        assertEquals(2, offHeap.findById(item.getId()).orElseThrow().getVersion());
+        assertEquals(2, offHeap.findAll().size());
+        assertEquals(1, offHeap.search("rolls", 10).size());
+        assertEquals(1, offHeap.findByCompletionDateBefore(LocalDate.now().plusDays(1)).size());
+        assertThrows(VersionConflictException.class,
+                () -> offHeap.update(item.getId(), new TodoItem("Stale", "Test Description", LocalDate.now()), 1));
+        assertTrue(offHeap.delete(item.getId()));
+        assertEquals(1, offHeap.count());
+    }
+
+    @Test
+    void shouldNeverShowHalfABatchOnAShardedStore() throws Exception {
+        TodoRepository sharded = new TodoRepository(new ShardedTodoStore(8, HeapTodoStore::new));
+        List<TodoItem> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(new TodoItem("Round 0", "Test Description", LocalDate.now()));
+        }
+        List<String> ids = sharded.saveAll(items).stream().map(TodoItem::getId).toList();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int round = 1; round <= 200; round++) {
+                    List<TodoItem> batch = new ArrayList<>();
+                    for (String id : ids) {
+                        TodoItem item = new TodoItem("Round " + round, "Test Description", LocalDate.now());
+                        item.setId(id);
+                        batch.add(item);
+                    }
+                    sharded.updateAll(batch);
+                }
+            });
+            while (!writer.isDone()) {
+                Set<String> rounds = sharded.findAll().stream().map(TodoItem::getTitle).collect(Collectors.toSet());
+                assertEquals(1, rounds.size(), rounds::toString);
+            }
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(50, sharded.count());
+        assertEquals("Round 200", sharded.findById(ids.get(0)).orElseThrow().getTitle());
+    }
+
+    @Test
+    void shouldRecoverIntoTheOffHeapStore(@TempDir Path directory) throws IOException {
+        Path walPath = directory.resolve("todo.wal");
+        SnapshotStore snapshots = new SnapshotStore(directory.resolve("todo.snapshot"));
+        String id;
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository durable = new TodoRepository(new OffHeapTodoStore(1 << 12), log, snapshots, null,
+                    new TimeOrderedIdGenerator());
+            id = durable.save(new TodoItem("Snapshotted", "Test Description", LocalDate.now())).getId();
+            durable.writeSnapshot();
+            durable.update(id, new TodoItem("Tail", "Test Description", LocalDate.now()));
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository recovered = new TodoRepository(new OffHeapTodoStore(1 << 12), log, snapshots, null,
+                    new TimeOrderedIdGenerator());
+
+            assertEquals(1, recovered.count());
+            assertEquals("Tail", recovered.findById(id).orElseThrow().getTitle());
+        }
+    }
+
+    @Test
+    void shouldListCountAndDeleteOneOwnersTodos() {
+        TodoItem first = repository.save(owned("alice", "First"));
+        repository.save(owned("bob", "Other"));
+        TodoItem second = repository.save(owned("alice", "Second"));
+        repository.save(owned(null, "Shared"));
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                repository.findByOwner("alice").stream().map(TodoItem::getId).toList());
+        assertEquals(2, repository.countByOwner("alice"));
+        assertEquals(1, repository.countByOwner(null));
+        assertEquals(0, repository.countByOwner("nobody"));
+        assertTrue(repository.findByOwner("nobody").isEmpty());
+
+        assertEquals(Set.of(first.getId(), second.getId()), new HashSet<>(repository.deleteByOwner("alice")));
+        assertEquals(0, repository.countByOwner("alice"));
+        assertTrue(repository.findByOwner("alice").isEmpty());
+        assertEquals(2, repository.count());
+        assertEquals(1, repository.countByOwner("bob"));
+    }
+
+    @Test
+    void shouldKeepTheOwnerAcrossUpdatesAndDropItOnDelete() {
+        TodoItem item = repository.save(owned("alice", "Mine"));
+        repository.update(item.getId(), owned("bob", "Still mine"));
+
+        assertEquals("alice", repository.findById(item.getId()).orElseThrow().getOwner());
+        assertEquals(1, repository.countByOwner("alice"));
+        assertEquals(0, repository.countByOwner("bob"));
+
+        repository.delete(item.getId());
+        assertEquals(0, repository.countByOwner("alice"));
+        assertTrue(repository.findByOwner("alice").isEmpty());
+    }
+
+    @Test
+    void shouldDropAnOwnersPartitionWithItsLastTodo() {
+        TodoRepository limited = new TodoRepository(new HeapTodoStore(), null, null, null, new TimeOrderedIdGenerator(), 1);
+        TodoItem item = limited.save(owned("alice", "Mine"));
+        limited.save(owned("bob", "Other"));
+        assertThrows(QuotaExceededException.class, () -> limited.save(owned("alice", "Over")));
+        assertEquals(2, limited.ownerPartitions());
+
+        limited.delete(item.getId());
+        limited.deleteByOwner("bob");
+        assertEquals(0, limited.ownerPartitions());
+        assertEquals(0, limited.countByOwner("alice"));
+
+        assertNotNull(limited.save(owned("alice", "Again")));
+        assertEquals(1, limited.countByOwner("alice"));
+        assertEquals(1, limited.findByOwner("alice").size());
+    }
+
+    @Test
+    void shouldRefuseTodosOverTheOwnersQuota() {
+        TodoRepository limited = new TodoRepository(new HeapTodoStore(), null, null, null, new TimeOrderedIdGenerator(), 2);
+        limited.save(owned("alice", "One"));
+        limited.save(owned("alice", "Two"));
+
+        assertThrows(QuotaExceededException.class, () -> limited.save(owned("alice", "Three")));
+        assertEquals(2, limited.countByOwner("alice"));
+        assertEquals(2, limited.count());
+
+        List<TodoItem> batch = limited.saveAll(List.of(owned("bob", "One"), owned("alice", "Four"), owned("bob", "Two"),
+                owned("bob", "Three")));
+        assertNotNull(batch.get(0));
+        assertNull(batch.get(1));
+        assertNotNull(batch.get(2));
+        assertNull(batch.get(3));
+        assertEquals(2, limited.countByOwner("bob"));
+
+        limited.delete(limited.findByOwner("alice").get(0).getId());
+        assertNotNull(limited.save(owned("alice", "Room again")));
+    }
+
+    @Test
+    void shouldNotOvershootTheQuotaUnderConcurrentSaves() throws Exception {
+        TodoRepository limited = new TodoRepository(new HeapTodoStore(), null, null, null, new TimeOrderedIdGenerator(), 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger refused = new AtomicInteger();
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        try {
+                            limited.save(owned("alice", "Todo " + i));
+                        } catch (QuotaExceededException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(100, limited.countByOwner("alice"));
+        assertEquals(100, limited.findByOwner("alice").size());
+        assertEquals(300, refused.get());
+    }
+
+    @Test
+    void shouldRecoverOwnersFromSnapshotAndLog(@TempDir Path directory) throws IOException {
+        Path walPath = directory.resolve("todo.wal");
+        SnapshotStore snapshots = new SnapshotStore(directory.resolve("todo.snapshot"));
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository durable = new TodoRepository(log, snapshots);
+            durable.save(owned("alice", "Snapshotted"));
+            durable.writeSnapshot();
+            durable.save(owned("alice", "Tail"));
+            durable.save(owned("bob", "Deleted"));
+            durable.deleteByOwner("bob");
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(walPath, Duration.ZERO)) {
+            TodoRepository recovered = new TodoRepository(log, snapshots);
+
+            assertEquals(List.of("Snapshotted", "Tail"),
+                    recovered.findByOwner("alice").stream().map(TodoItem::getTitle).toList());
+            assertEquals(0, recovered.countByOwner("bob"));
+        }
+    }
+
+    @Test
+    void shouldListThroughSortedViewsInEitherDirection() {
+        TodoItem banana = repository.save(new TodoItem("banana", "Test Description", LocalDate.of(2026, 3, 1)));
+        TodoItem apple = repository.save(new TodoItem("Apple", "Test Description", LocalDate.of(2026, 1, 1)));
+        TodoItem cherry = repository.save(new TodoItem("cherry", "Test Description", null));
+
+        assertEquals(List.of(apple.getId(), banana.getId(), cherry.getId()),
+                ids(repository.findSorted(new TodoSort(TodoSort.Field.TITLE, false), null, null, 10)));
+        assertEquals(List.of(cherry.getId(), banana.getId(), apple.getId()),
+                ids(repository.findSorted(new TodoSort(TodoSort.Field.TITLE, true), null, null, 10)));
+        assertEquals(List.of(apple.getId(), banana.getId(), cherry.getId()),
+                ids(repository.findSorted(new TodoSort(TodoSort.Field.COMPLETION_DATE, false), null, null, 10)));
+        assertEquals(List.of(cherry.getId(), banana.getId(), apple.getId()),
+                ids(repository.findSorted(new TodoSort(TodoSort.Field.COMPLETION_DATE, true), null, null, 10)));
+        assertEquals(List.of(cherry.getId(), apple.getId(), banana.getId()),
+                ids(repository.findSorted(new TodoSort(TodoSort.Field.CREATED, true), null, null, 10)));
+    }
+
+    @Test
+    void shouldKeepSortedViewsCurrentAcrossUpdatesDeletesAndClear() {
+        TodoSort byTitle = new TodoSort(TodoSort.Field.TITLE, false);
+        TodoItem first = repository.save(new TodoItem("aaa", "Test Description", LocalDate.now()));
+        TodoItem second = repository.save(new TodoItem("bbb", "Test Description", LocalDate.now()));
+
+        repository.update(first.getId(), new TodoItem("ccc", "Test Description", LocalDate.now()));
+        assertEquals(List.of(second.getId(), first.getId()), ids(repository.findSorted(byTitle, null, null, 10)));
+
+        repository.delete(second.getId());
+        assertEquals(List.of(first.getId()), ids(repository.findSorted(byTitle, null, null, 10)));
+
+        repository.clear();
+        assertTrue(repository.findSorted(byTitle, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void shouldPageASortedFilteredViewFromItsCursor() {
+        TodoSort byTitle = new TodoSort(TodoSort.Field.TITLE, false);
+        for (String title : List.of("Milk 3", "Bread", "milk 1", "Milk 2", "Eggs", "MILK 4")) {
+            repository.save(new TodoItem(title, "Test Description", LocalDate.now()));
+        }
+
+        List<TodoItem> first = repository.findSorted(byTitle, "milk", null, 2);
+        List<TodoItem> second = repository.findSorted(byTitle, "milk", byTitle.keyOf(first.get(1)), 2);
+        List<TodoItem> last = repository.findSorted(byTitle, "milk", byTitle.keyOf(second.get(1)), 2);
+
+        assertEquals(List.of("milk 1", "Milk 2"), first.stream().map(TodoItem::getTitle).toList());
+        assertEquals(List.of("Milk 3", "MILK 4"), second.stream().map(TodoItem::getTitle).toList());
+        assertTrue(last.isEmpty());
+    }
+
+    @Test
+    void shouldRejectAMalformedSortCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.findSorted(new TodoSort(TodoSort.Field.COMPLETION_DATE, false), null, "id not-a-date", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.findSorted(new TodoSort(TodoSort.Field.TITLE, false), null, "no-separator", 10));
+    }
+
+    private static List<String> ids(List<TodoItem> items) {
+        return items.stream().map(TodoItem::getId).toList();
+    }
+
+    private static TodoItem owned(String owner, String title) {
+        TodoItem item = new TodoItem(title, "Test Description", LocalDate.now());
+        item.setOwner(owner);
+        return item;
+    }
 }
@@ -0,0 +1,73 @@
+package com.todo.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSearchIndexTest {
+
+    private TodoSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TodoSearchIndex();
+    }
+
+    @Test
+    void shouldTokenizeDecodedHtml() {
+        List<String> tokens = TodoSearchIndex.tokenize("Tom &amp; Jerry&#39;s &lt;Show&gt;");
+
+        assertEquals(List.of("tom", "jerry", "s", "show"), tokens);
+    }
+
+    @Test
+    void shouldFindDocumentsByTitleAndDescription() {
+        index.add("1", "Buy milk", "From the corner shop");
+        index.add("2", "Call mom", "About the milk delivery");
+        index.add("3", "Write report", "Quarterly numbers");
+
+        assertEquals(2, index.search("milk", 10).size());
+        assertEquals(List.of("1"), index.search("corner", 10));
+        assertTrue(index.search("unknown", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRankTitleMatchesHigher() {
+        index.add("description", "Call mom", "About the milk delivery");
+        index.add("title", "Buy milk", "From the corner shop");
+
+        assertEquals(List.of("title", "description"), index.search("milk", 10));
+    }
+
+    @Test
+    void shouldLimitResults() {
+        for (int i = 0; i < 10; i++) {
+            index.add(String.valueOf(i), "Task " + i, "Shared words");
+        }
+
+        assertEquals(3, index.search("shared", 3).size());
+    }
+
+    @Test
+    void shouldForgetRemovedAndReplacedDocuments() {
+        index.add("1", "Buy milk", "From the corner shop");
+        index.add("1", "Buy bread", "From the bakery");
+
+        assertTrue(index.search("milk", 10).isEmpty());
+        assertEquals(List.of("1"), index.search("bread", 10));
+
+        index.remove("1");
+        assertTrue(index.search("bread", 10).isEmpty());
+    }
+
+    @Test
+    void shouldMatchAmpersandAsTextNotEntityName() {
+        index.add("1", "Salt &amp; pepper", "Kitchen");
+
+        assertEquals(List.of("1"), index.search("pepper", 10));
+        assertTrue(index.search("amp", 10).isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package com.todo.app.service;
+
+import com.todo.app.exeptions.VersionConflictException;
+import com.todo.app.model.TodoItem;
+import com.todo.app.repository.TodoRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveTodoServiceTest {
+
+    private ReactiveTodoService reactiveService;
+
+    @BeforeEach
+    void setUp() {
+        TodoService todoService = new TodoService(new TodoRepository(), Validation.buildDefaultValidatorFactory().getValidator());
+        reactiveService = new ReactiveTodoService(todoService, Schedulers.immediate());
+    }
+
+    @Test
+    void createTodo_shouldBeVisibleThroughFindById() {
+        TodoItem created = reactiveService.createTodo(new TodoItem("Title", "Test Description", LocalDate.now())).block();
+
+        StepVerifier.create(reactiveService.getTodoItemById(created.getId()))
+                .assertNext(item -> assertThat(item.getTitle()).isEqualTo("Title"))
+                .verifyComplete();
+        StepVerifier.create(reactiveService.getTodoItemById("missing-id"))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamTodoItems_shouldHonourDemand() {
+        for (int i = 0; i < 5; i++) {
+            reactiveService.createTodo(new TodoItem("Title " + i, "Test Description", LocalDate.now())).block();
+        }
+
+        StepVerifier.create(reactiveService.streamTodoItems(), 2)
+                .expectNextCount(2)
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void listReads_shouldRunOnTheReadScheduler() {
+        TodoService todoService = new TodoService(new TodoRepository(), Validation.buildDefaultValidatorFactory().getValidator());
+        Scheduler reads = Schedulers.newSingle("todo-reads");
+        try {
+            ReactiveTodoService service = new ReactiveTodoService(todoService, reads, Schedulers.immediate());
+            service.createTodo(new TodoItem("Title", "Test Description", LocalDate.now().minusDays(1))).block();
+
+            StepVerifier.create(service.getTodoItems("title", null).map(item -> Thread.currentThread().getName()))
+                    .assertNext(thread -> assertThat(thread).startsWith("todo-reads"))
+                    .verifyComplete();
+            StepVerifier.create(service.getOverdueTodoItems().map(item -> Thread.currentThread().getName()))
+                    .assertNext(thread -> assertThat(thread).startsWith("todo-reads"))
+                    .verifyComplete();
+        } finally {
+            reads.dispose();
+        }
+    }
+
+    @Test
+    void writes_shouldNotRunUntilSubscribed() {
+        reactiveService.createTodo(new TodoItem("Title", "Test Description", LocalDate.now()));
+
+        StepVerifier.create(reactiveService.count())
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateTodoItem_shouldCompleteEmptyForMissingItem() {
+        StepVerifier.create(reactiveService.updateTodoItem("missing-id", new TodoItem("Title", "Test Description", LocalDate.now())))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateTodoItem_shouldSignalVersionConflict() {
+        TodoItem created = reactiveService.createTodo(new TodoItem("Title", "Test Description", LocalDate.now())).block();
+
+        StepVerifier.create(reactiveService.updateTodoItem(created.getId(), new TodoItem("Updated", "Test Description", LocalDate.now()), 7))
+                .expectError(VersionConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void getTodoItemPage_shouldSignalInvalidLimit() {
+        StepVerifier.create(reactiveService.getTodoItemPage(null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void clearAll_shouldRemoveEverything() {
+        reactiveService.createTodo(new TodoItem("Title", "Test Description", LocalDate.now())).block();
+
+        StepVerifier.create(reactiveService.clearAll().then(reactiveService.count()))
+                .expectNext(0)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,99 @@
+package com.todo.app.service;
+
+import com.todo.app.events.TodoEventPublisher;
+import com.todo.app.model.TodoEvent;
+import com.todo.app.model.TodoItem;
+import com.todo.app.persistence.TodoArchive;
+import com.todo.app.repository.TodoRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class TodoArchiveServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private TodoRepository repository;
+    private TodoEventPublisher eventPublisher;
+    private TodoArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new TodoRepository();
+        eventPublisher = mock(TodoEventPublisher.class);
+        TodoService todoService = new TodoService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher, null);
+        archiveService = new TodoArchiveService(repository, todoService, new TodoArchive(directory), 30, 2);
+    }
+
+    @Test
+    void archiveDueBefore_shouldMoveOverdueItemsInBatches() throws IOException {
+        LocalDate today = LocalDate.now();
+        List<TodoItem> old = List.of(
+                repository.save(new TodoItem("First", "Test Description", today.minusDays(90))),
+                repository.save(new TodoItem("Second", "Test Description", today.minusDays(60))),
+                repository.save(new TodoItem("Third", "Test Description", today.minusDays(45))));
+        TodoItem recent = repository.save(new TodoItem("Recent", "Test Description", today.minusDays(3)));
+        TodoItem undated = repository.save(new TodoItem("Undated", "Test Description", null));
+
+        assertThat(archiveService.archiveDueBefore(today.minusDays(30))).isEqualTo(3);
+
+        assertThat(repository.findAll()).extracting(TodoItem::getId).containsExactlyInAnyOrder(recent.getId(), undated.getId());
+        assertThat(archiveService.findArchived(today.minusDays(90), today, null))
+                .extracting(TodoItem::getId).containsExactlyElementsOf(old.stream().map(TodoItem::getId).toList());
+        for (TodoItem item : old) {
+            verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.ARCHIVED, item.getId(), null));
+        }
+        assertThat(archiveService.archiveDueBefore(today.minusDays(30))).isZero();
+    }
+
+    @Test
+    void archiveDueBefore_shouldRetractTodosEditedMidSweep() throws IOException {
+        LocalDate today = LocalDate.now();
+        TodoItem edited = repository.save(new TodoItem("Edited", "Test Description", today.minusDays(90)));
+        TodoItem archived = repository.save(new TodoItem("Archived", "Test Description", today.minusDays(90)));
+        TodoService todoService = new TodoService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher, null);
+        TodoArchive racing = new TodoArchive(directory) {
+            @Override
+            public synchronized void append(List<TodoItem> items) throws IOException {
+                super.append(items);
+                repository.update(edited.getId(), new TodoItem("Edited meanwhile", "Test Description", today));
+            }
+        };
+        TodoArchiveService service = new TodoArchiveService(repository, todoService, racing, 30, 10);
+
+        assertThat(service.archiveDueBefore(today.minusDays(30))).isEqualTo(1);
+
+        assertThat(repository.findAll()).extracting(TodoItem::getId).containsExactly(edited.getId());
+        assertThat(service.findArchived(today.minusDays(90), today, null))
+                .extracting(TodoItem::getId).containsExactly(archived.getId());
+    }
+
+    @Test
+    void findArchived_shouldRejectBackwardsAndOverlongRanges() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> archiveService.findArchived(today, today.minusDays(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> archiveService.findArchived(today.minusDays(TodoArchiveService.MAX_RANGE_DAYS), today, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectANonPositiveBatchSize() {
+        assertThatThrownBy(() -> new TodoArchiveService(repository, mock(TodoService.class), mock(TodoArchive.class), 30, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoImportResult;
+import com.todo.app.repository.TodoRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoImportServiceTest {
+
+    private TodoService todoService;
+    private TodoImportService todoImportService;
+
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService(new TodoRepository(), Validation.buildDefaultValidatorFactory().getValidator());
+        todoImportService = new TodoImportService(todoService, JsonMapper.builder().build());
+    }
+
+    @Test
+    void importTodoItems_shouldCreateEveryValidLine() throws IOException {
+        TodoImportResult result = importLines(
+                "{\"title\":\"First\",\"description\":\"One\",\"completionDate\":\"01.01.2030\"}",
+                "{\"title\":\"Second\",\"description\":\"Two\",\"completionDate\":\"02.01.2030\"}");
+
+        assertThat(result.lines()).isEqualTo(2);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isZero();
+        assertThat(todoService.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importTodoItems_shouldReportMalformedAndInvalidLinesByNumber() throws IOException {
+        TodoImportResult result = importLines(
+                "{\"title\":\"First\",\"description\":\"One\",\"completionDate\":\"01.01.2030\"}",
+                "{\"title\":",
+                "{\"title\":\"\",\"description\":\"Blank title\",\"completionDate\":\"01.01.2030\"}",
+                "{\"title\":\"Fourth\",\"description\":\"Four\",\"completionDate\":\"04.01.2030\"}");
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).extracting(TodoImportResult.LineError::line).containsExactly(2L, 3L);
+        assertThat(result.errors().get(0).error()).startsWith("Malformed JSON");
+        assertThat(todoService.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importTodoItems_shouldSkipBlankLinesAndAcceptCrlf() throws IOException {
+        String body = "{\"title\":\"First\",\"description\":\"One\",\"completionDate\":\"01.01.2030\"}\r\n"
+                + "\r\n"
+                + "   \n"
+                + "{\"title\":\"Second\",\"description\":\"Two\",\"completionDate\":\"02.01.2030\"}";
+
+        TodoImportResult result = todoImportService.importTodoItems(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.lines()).isEqualTo(4);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isZero();
+    }
+
+    @Test
+    void importTodoItems_shouldApplyInputLargerThanOneBatch() throws IOException {
+        String[] lines = new String[2500];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "{\"title\":\"Todo " + i + "\",\"description\":\"Bulk\",\"completionDate\":\"01.01.2030\"}";
+        }
+
+        TodoImportResult result = importLines(lines);
+
+        assertThat(result.imported()).isEqualTo(2500);
+        assertThat(todoService.count()).isEqualTo(2500);
+    }
+
+    private TodoImportResult importLines(String... lines) throws IOException {
+        String body = String.join("\n", lines) + "\n";
+        return todoImportService.importTodoItems(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.todo.app.service;
+
+import com.todo.app.model.TodoItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoJsonCacheTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void get_shouldReuseBytesWhileVersionIsUnchanged() {
+        TodoJsonCache cache = new TodoJsonCache(jsonMapper, DataSize.ofMegabytes(1));
+        TodoItem item = item("id-1", "Title", 1);
+
+        byte[] first = cache.get(item);
+
+        assertThat(cache.get(item)).isSameAs(first);
+        assertThat(first).isEqualTo(jsonMapper.writeValueAsBytes(item));
+        assertThat(new String(first, StandardCharsets.UTF_8)).contains("02.01.2026");
+    }
+
+    @Test
+    void get_shouldRenderAgainAfterVersionChange() {
+        TodoJsonCache cache = new TodoJsonCache(jsonMapper, DataSize.ofMegabytes(1));
+        cache.put(item("id-1", "Old", 1));
+
+        byte[] json = cache.get(item("id-1", "New", 2));
+
+        assertThat(new String(json, StandardCharsets.UTF_8)).contains("\"title\":\"New\"");
+    }
+
+    @Test
+    void put_shouldKeepTheNewerVersion() {
+        TodoJsonCache cache = new TodoJsonCache(jsonMapper, DataSize.ofMegabytes(1));
+        TodoItem newer = item("id-1", "Newer", 3);
+        byte[] newerJson = cache.put(newer);
+
+        cache.put(item("id-1", "Older", 2));
+
+        assertThat(cache.get(newer)).isSameAs(newerJson);
+    }
+
+    @Test
+    void put_shouldStayWithinMemoryBound() {
+        TodoJsonCache cache = new TodoJsonCache(jsonMapper, DataSize.ofKilobytes(4));
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(item("id-" + i, "Title " + i, 1));
+        }
+
+        assertThat(cache.sizeInBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(4).toBytes());
+        assertThat(cache.sizeInBytes()).isPositive();
+    }
+
+    @Test
+    void invalidateAndClear_shouldReleaseBytes() {
+        TodoJsonCache cache = new TodoJsonCache(jsonMapper, DataSize.ofMegabytes(1));
+        cache.put(item("id-1", "Title", 1));
+        cache.put(item("id-2", "Title", 1));
+
+        cache.invalidate("id-1");
+        long remaining = cache.sizeInBytes();
+        cache.clear();
+
+        assertThat(remaining).isPositive();
+        assertThat(cache.sizeInBytes()).isZero();
+    }
+
+    private static TodoItem item(String id, String title, long version) {
+        TodoItem item = new TodoItem(title, "Test Description", LocalDate.of(2026, 1, 2));
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}
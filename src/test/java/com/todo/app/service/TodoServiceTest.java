@@ -1,7 +1,14 @@
 package com.todo.app.service;
 
+import com.todo.app.events.TodoEventPublisher;
+import com.todo.app.model.TodoBatchResult;
+import com.todo.app.model.TodoEvent;
 import com.todo.app.model.TodoItem;
+import com.todo.app.model.TodoPage;
+import com.todo.app.model.TodoSort;
+import com.todo.app.reminders.ReminderScheduler;
 import com.todo.app.repository.TodoRepository;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +17,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -24,6 +35,12 @@ class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private TodoEventPublisher eventPublisher;
+
+    @Mock
+    private TodoJsonCache jsonCache;
+
     @InjectMocks
     private TodoService todoService;
 
@@ -75,6 +92,8 @@ class TodoServiceTest {
 
         assertThat(result).isEqualTo(testItem);
         verify(todoRepository).save(testItem);
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.CREATED, testItem.getId(), testItem));
+        verify(jsonCache).put(testItem);
     }
 
     @Test
@@ -86,6 +105,7 @@ class TodoServiceTest {
 
         assertThat(result).isTrue();
         verify(todoRepository).delete(id);
+        verify(jsonCache).invalidate(id);
     }
 
     @Test
@@ -97,6 +117,7 @@ class TodoServiceTest {
 
         assertThat(result).isFalse();
         verify(todoRepository).delete(id);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -128,6 +149,21 @@ class TodoServiceTest {
         todoService.clearAll();
 
         verify(todoRepository).clear();
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.CLEARED, null, null));
+    }
+
+    @Test
+    void updateTodoItem_shouldPublishOnlyAppliedUpdates() {
+        TodoItem updatedItem = new TodoItem("Updated Title", "Updated Description", LocalDate.now());
+        updatedItem.setId("test-id");
+        when(todoRepository.update("test-id", updatedItem, 1)).thenReturn(updatedItem);
+        when(todoRepository.update("missing-id", updatedItem, 1)).thenReturn(null);
+
+        todoService.updateTodoItem("test-id", updatedItem, 1);
+        todoService.updateTodoItem("missing-id", updatedItem, 1);
+
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.UPDATED, "test-id", updatedItem));
+        verifyNoMoreInteractions(eventPublisher);
     }
 
     @Test
@@ -140,4 +176,248 @@ class TodoServiceTest {
         assertThat(result).isEqualTo(expectedCount);
         verify(todoRepository).count();
     }
+
+    @Test
+    void getTodoItemPage_shouldReturnCursorWhenMoreItemsExist() {
+        testItem.setId("first-id");
+        TodoItem second = new TodoItem("Second", "Test Description", LocalDate.now());
+        when(todoRepository.findPage(null, 2)).thenReturn(List.of(testItem, second));
+
+        TodoPage page = todoService.getTodoItemPage(null, 1);
+
+        assertThat(page.items()).containsExactly(testItem);
+        assertThat(page.nextCursor()).isNotNull();
+
+        when(todoRepository.findPage(testItem.getId(), 2)).thenReturn(List.of(second));
+        TodoPage next = todoService.getTodoItemPage(page.nextCursor(), 1);
+
+        assertThat(next.items()).containsExactly(second);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void getTodoItemPage_shouldCarryTheSortKeyInTheCursor() {
+        TodoSort byTitle = new TodoSort(TodoSort.Field.TITLE, true);
+        testItem.setId("first-id");
+        TodoItem second = new TodoItem("Second", "Test Description", LocalDate.now());
+        when(todoRepository.findSorted(byTitle, "a&amp;b", null, 2)).thenReturn(List.of(testItem, second));
+
+        TodoPage page = todoService.getTodoItemPage(null, 1, "title,desc", "a&b");
+
+        assertThat(page.items()).containsExactly(testItem);
+        when(todoRepository.findSorted(byTitle, "a&amp;b", "first-id Test Title", 2)).thenReturn(List.of(second));
+        assertThat(todoService.getTodoItemPage(page.nextCursor(), 1, "title,desc", "a&b").items()).containsExactly(second);
+    }
+
+    @Test
+    void getTodoItems_shouldReadTheWholeSortedView() {
+        when(todoRepository.findSorted(TodoSort.CREATED, "milk", null, Integer.MAX_VALUE)).thenReturn(List.of(testItem));
+
+        assertThat(todoService.getTodoItems(null, "milk")).containsExactly(testItem);
+        assertThatThrownBy(() -> todoService.getTodoItems("owner", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTodoItemPage_shouldRejectInvalidLimit() {
+        assertThatThrownBy(() -> todoService.getTodoItemPage(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> todoService.getTodoItemPage(null, TodoService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTodoItemPage_shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> todoService.getTodoItemPage("not*base64", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTodoItemsDueBetween_shouldDelegateToDateIndex() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(7);
+        when(todoRepository.findByCompletionDateBetween(from, to)).thenReturn(List.of(testItem));
+
+        List<TodoItem> result = todoService.getTodoItemsDueBetween(from, to);
+
+        assertThat(result).containsExactly(testItem);
+    }
+
+    @Test
+    void getTodoItemsDueBetween_shouldRejectInvertedRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> todoService.getTodoItemsDueBetween(today, today.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getOverdueTodoItems_shouldQueryItemsBeforeToday() {
+        when(todoRepository.findByCompletionDateBefore(LocalDate.now())).thenReturn(List.of(testItem));
+
+        assertThat(todoService.getOverdueTodoItems()).containsExactly(testItem);
+    }
+
+    @Test
+    void getTodoItemsDueToday_shouldQueryTodayOnly() {
+        LocalDate today = LocalDate.now();
+        when(todoRepository.findByCompletionDateBetween(today, today)).thenReturn(List.of(testItem));
+
+        assertThat(todoService.getTodoItemsDueToday()).containsExactly(testItem);
+    }
+
+    @Test
+    void searchTodoItems_shouldDelegateToRepository() {
+        when(todoRepository.search("test", 20)).thenReturn(List.of(testItem));
+
+        assertThat(todoService.searchTodoItems("test", 20)).containsExactly(testItem);
+    }
+
+    @Test
+    void searchTodoItems_shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> todoService.searchTodoItems(" ", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void createTodoItems_shouldValidateSanitizeAndSaveValidItems() {
+        TodoService batchService = new TodoService(todoRepository, Validation.buildDefaultValidatorFactory().getValidator());
+        TodoItem valid = new TodoItem("<b>Title</b>", "Test Description", LocalDate.now());
+        TodoItem invalid = new TodoItem("", "Test Description", LocalDate.now());
+        when(todoRepository.saveAll(List.of(valid))).thenAnswer(invocation -> {
+            valid.setId("saved-id");
+            return List.of(valid);
+        });
+
+        List<TodoBatchResult> results = batchService.createTodoItems(List.of(invalid, valid));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).status()).isEqualTo(400);
+        assertThat(results.get(0).error()).isEqualTo("Title is mandatory");
+        assertThat(results.get(1).status()).isEqualTo(201);
+        assertThat(results.get(1).id()).isEqualTo("saved-id");
+        assertThat(valid.getTitle()).isEqualTo("&lt;b&gt;Title&lt;/b&gt;");
+    }
+
+    @Test
+    void createTodoItems_shouldReportItemsOverTheOwnersQuota() {
+        TodoService batchService = new TodoService(todoRepository, Validation.buildDefaultValidatorFactory().getValidator());
+        TodoItem kept = new TodoItem("Kept", "Test Description", LocalDate.now());
+        TodoItem refused = new TodoItem("Refused", "Test Description", LocalDate.now());
+        when(todoRepository.saveAll(List.of(kept, refused))).thenAnswer(invocation -> {
+            kept.setId("kept-id");
+            return Arrays.asList(kept, null);
+        });
+
+        List<TodoBatchResult> results = batchService.createTodoItems(List.of(kept, refused));
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(201, 429);
+        assertThat(results.get(1).error()).isEqualTo("Owner quota exceeded");
+    }
+
+    @Test
+    void updateTodoItems_shouldReportMissingItems() {
+        TodoService batchService = new TodoService(todoRepository, Validation.buildDefaultValidatorFactory().getValidator());
+        TodoItem missing = new TodoItem("Title", "Test Description", LocalDate.now());
+        missing.setId("missing-id");
+        when(todoRepository.updateAll(List.of(missing))).thenReturn(Arrays.asList((TodoItem) null));
+
+        List<TodoBatchResult> results = batchService.updateTodoItems(List.of(missing));
+
+        assertThat(results.get(0).status()).isEqualTo(404);
+        assertThat(results.get(0).id()).isEqualTo("missing-id");
+    }
+
+    @Test
+    void deleteTodoItems_shouldReturnPerItemStatus() {
+        when(todoRepository.deleteAll(List.of("a", "b"))).thenReturn(List.of(true, false));
+
+        List<TodoBatchResult> results = todoService.deleteTodoItems(List.of("a", "b"));
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(204, 404);
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.DELETED, "a", null));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTodoItems_shouldReportMissingIdsPerItem() {
+        when(todoRepository.deleteAll(List.of("a"))).thenReturn(List.of(true));
+
+        List<TodoBatchResult> results = todoService.deleteTodoItems(Arrays.asList(null, "a", " "));
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(400, 204, 400);
+        assertThat(results.get(0).error()).isEqualTo("Id is mandatory");
+        assertThat(results).extracting(TodoBatchResult::index).containsExactly(0, 1, 2);
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.DELETED, "a", null));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void batchOperations_shouldRejectEmptyOrOversizedBatches() {
+        assertThatThrownBy(() -> todoService.deleteTodoItems(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> todoService.deleteTodoItems(Collections.nCopies(TodoService.MAX_BATCH_SIZE + 1, "id")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTodoItemsByOwner_shouldDelegateToRepository() {
+        when(todoRepository.findByOwner("alice")).thenReturn(List.of(testItem));
+        when(todoRepository.countByOwner("alice")).thenReturn(1);
+
+        assertThat(todoService.getTodoItemsByOwner("alice")).containsExactly(testItem);
+        assertThat(todoService.countByOwner("alice")).isEqualTo(1);
+    }
+
+    @Test
+    void clearOwner_shouldPublishADeletePerRemovedItem() {
+        when(todoRepository.deleteByOwner("alice")).thenReturn(List.of("a", "b"));
+
+        assertThat(todoService.clearOwner("alice")).isEqualTo(2);
+
+        verify(jsonCache).invalidate("a");
+        verify(jsonCache).invalidate("b");
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.DELETED, "a", null));
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.DELETED, "b", null));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void removeArchived_shouldPublishAnArchivePerRemovedItem() {
+        TodoItem kept = new TodoItem("Kept", "Changed meanwhile", LocalDate.now());
+        kept.setId("kept");
+        testItem.setId("gone");
+        when(todoRepository.deleteUnchanged(List.of(testItem, kept))).thenReturn(List.of(true, false));
+
+        assertThat(todoService.removeArchived(List.of(testItem, kept))).containsExactly(kept);
+
+        verify(jsonCache).invalidate("gone");
+        verify(eventPublisher).publish(new TodoEvent(TodoEvent.Type.ARCHIVED, "gone", null));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void writes_shouldScheduleAndCancelReminders() {
+        ReminderScheduler reminders = mock(ReminderScheduler.class);
+        TodoService service = new TodoService(todoRepository, Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher, jsonCache, reminders);
+        testItem.setId("id");
+        when(todoRepository.save(testItem)).thenReturn(testItem);
+        when(todoRepository.delete("id")).thenReturn(true);
+
+        service.createTodo(testItem);
+        service.deleteTodoItem("id");
+        service.clearAll();
+
+        verify(reminders).schedule(testItem);
+        verify(reminders).cancel("id");
+        verify(reminders).cleared();
+    }
+
+    @Test
+    void streamTodoItems_shouldDelegateToRepository() {
+        when(todoRepository.stream()).thenReturn(Stream.of(testItem));
+
+        assertThat(todoService.streamTodoItems()).containsExactly(testItem);
+    }
 }